@@ -0,0 +1,72 @@
+package com.fighter.benchmarks;
+
+import com.fighter.ai.AI;
+import com.fighter.ai.AiScheduler;
+import com.fighter.ai.MatchView;
+import com.fighter.simulation.MatchSimulation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One tick of a match where every fighter is an AI, with and without a
+ * time budget for thinking. Without one, the AI's share of the tick grows
+ * with the crowd. With one, it stays about the same and each AI decides
+ * less often instead.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AiSchedulerBenchmark {
+
+    @Param({"8", "32", "128"})
+    public int fighters;
+
+    @Param({"0", "25"})
+    public int budgetMicros;
+
+    private MatchSimulation simulation;
+    private AiScheduler scheduler;
+    private int[] inputs;
+
+    @Setup
+    public void setUp() {
+        simulation = new MatchSimulation(BenchmarkAssets.characters(), BenchmarkAssets.map(), fighters);
+        scheduler = new AiScheduler(budgetMicros);
+        inputs = new int[fighters];
+
+        MatchView view = new MatchView(simulation);
+        for (int slot = 0; slot < fighters; ++slot) {
+            scheduler.add(new AI(view, slot));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        simulation.dispose();
+    }
+
+    @Benchmark
+    public long tick() {
+        scheduler.update();
+        for (int slot = 0; slot < fighters; ++slot) {
+            inputs[slot] = scheduler.getControllers().get(slot).sample();
+        }
+        simulation.tick(inputs);
+        return simulation.getTick();
+    }
+}
@@ -0,0 +1,63 @@
+package com.fighter.benchmarks;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.fighter.assets.AssetPaths;
+import com.fighter.entity.CharacterRegistry;
+import com.fighter.map.MapDef;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+/**
+ * Asset files for the benchmarks, which run without Gdx.files. The jmh task
+ * points the fighter.assets system property at android/assets.
+ */
+class BenchmarkAssets {
+
+    // == Constants ==
+    private static final String ASSETS_DIR_PROPERTY = "fighter.assets";
+    private static final String DEFAULT_ASSETS_DIR = "../android/assets";
+
+    // == Attributes ==
+
+    // Read once per benchmark JVM and kept until it exits
+    private static CharacterRegistry characters;
+    private static MapDef map;
+
+    // == Constructors ==
+    private BenchmarkAssets() {
+    }
+
+    // == Package methods ==
+    static synchronized CharacterRegistry characters() {
+        if (characters == null) {
+            File file = getFile(AssetPaths.CHARACTERS);
+
+            try {
+                characters = CharacterRegistry.read(new FileInputStream(file));
+            } catch (IOException e) {
+                throw new GdxRuntimeException("Couldn't read " + file, e);
+            }
+        }
+        return characters;
+    }
+
+    static synchronized MapDef map() {
+        if (map == null) {
+            File file = getFile(AssetPaths.TEST_MAP_DEF);
+
+            try {
+                map = MapDef.read(new FileInputStream(file));
+            } catch (IOException e) {
+                throw new GdxRuntimeException("Couldn't read " + file, e);
+            }
+        }
+        return map;
+    }
+
+    // == Private methods ==
+    private static File getFile(String path) {
+        return new File(System.getProperty(ASSETS_DIR_PROPERTY, DEFAULT_ASSETS_DIR), path);
+    }
+}
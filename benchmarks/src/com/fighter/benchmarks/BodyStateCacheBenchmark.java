@@ -0,0 +1,101 @@
+package com.fighter.benchmarks;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.World;
+import com.fighter.config.GameConfig;
+import com.fighter.entity.BodyStateCache;
+import com.fighter.entity.CharacterBase;
+import com.fighter.entity.CharacterArchetype;
+import com.fighter.entity.CharacterStateStore;
+import com.fighter.map.MapLayout;
+import com.fighter.simulation.MatchSimulation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One tick worth of position and velocity reads and writes for N bodies,
+ * straight through JNI against through a {@link BodyStateCache}. A
+ * character reads its velocity several times per tick and sets it once.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BodyStateCacheBenchmark {
+
+    private static final int READS_PER_TICK = 8;
+
+    @Param({"2", "16", "64"})
+    public int characters;
+
+    private World world;
+    private BodyStateCache bodies;
+    private Body[] bodyArray;
+
+    @Setup
+    public void setUp() {
+        world = new World(new Vector2(0, GameConfig.GRAVITY), true);
+        new MapLayout(world, BenchmarkAssets.map());
+        bodies = new BodyStateCache();
+        bodyArray = new Body[characters];
+
+        CharacterArchetype archetype = BenchmarkAssets.characters().get(MatchSimulation.DEFAULT_ENEMY);
+
+        float spacing = GameConfig.WORLD_WIDTH / (characters + 1);
+        for (int i = 0; i < characters; ++i) {
+            CharacterBase character = archetype.create(world, new CharacterStateStore(bodies), new Vector2(spacing * (i + 1), 1f),
+                    archetype.getDefaultStats());
+            bodyArray[i] = character.getBody();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        world.dispose();
+    }
+
+    @Benchmark
+    public float direct() {
+        float sum = 0;
+        for (Body body : bodyArray) {
+            sum += body.getPosition().x + body.getPosition().y;
+            for (int i = 0; i < READS_PER_TICK; ++i) {
+                sum += body.getLinearVelocity().y;
+            }
+            body.setLinearVelocity(0, body.getLinearVelocity().y);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public float cached() {
+        bodies.readBack();
+
+        float sum = 0;
+        for (int index = 0; index < characters; ++index) {
+            sum += bodies.getX(index) + bodies.getY(index);
+            for (int i = 0; i < READS_PER_TICK; ++i) {
+                sum += bodies.getVelocityY(index);
+            }
+            bodies.setVelocity(index, 0, bodies.getVelocityY(index));
+        }
+
+        bodies.flush();
+        return sum;
+    }
+}
@@ -0,0 +1,64 @@
+package com.fighter.benchmarks;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.World;
+import com.fighter.config.GameConfig;
+import com.fighter.entity.CharacterStateStore;
+import com.fighter.entity.CharacterBase;
+import com.fighter.entity.CharacterArchetype;
+import com.fighter.map.MapLayout;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of spawning and removing one character. The archetype is read
+ * before the first measurement, so this is body and fixture creation only.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CharacterSpawnBenchmark {
+
+    @Param({"knight", "test"})
+    public String name;
+
+    private World world;
+    private CharacterArchetype archetype;
+    private final Vector2 position = new Vector2(GameConfig.WORLD_CENTER_X, 1f);
+
+    @Setup
+    public void setUp() {
+        world = new World(new Vector2(0, GameConfig.GRAVITY), true);
+        new MapLayout(world, BenchmarkAssets.map());
+        archetype = BenchmarkAssets.characters().get(name);
+    }
+
+    @TearDown
+    public void tearDown() {
+        world.dispose();
+    }
+
+    @Benchmark
+    public CharacterBase spawn() {
+        // A fresh cache each time, otherwise it would keep every destroyed body
+        CharacterBase character = archetype.create(world, new CharacterStateStore(), position,
+                archetype.getDefaultStats());
+        world.destroyBody(character.getBody());
+        return character;
+    }
+}
@@ -0,0 +1,69 @@
+package com.fighter.benchmarks;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.World;
+import com.fighter.config.GameConfig;
+import com.fighter.entity.BodyStateCache;
+import com.fighter.entity.CharacterBase;
+import com.fighter.entity.CharacterArchetype;
+import com.fighter.entity.CharacterStateStore;
+import com.fighter.map.MapLayout;
+import com.fighter.simulation.MatchSimulation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one character tick in each {@link CharacterBase.CharacterState},
+ * including the state's enter and exit.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CharacterStateBenchmark {
+
+    @Param({"STANDING", "FALLING", "JUMPING", "MOVING_LEFT", "MOVING_RIGHT",
+            "ATTACKING", "GUARDING", "KNOCKED_BACK", "JUMPING_LEFT", "JUMPING_RIGHT"})
+    public CharacterBase.CharacterState state;
+
+    private World world;
+    private BodyStateCache bodies;
+    private CharacterBase character;
+
+    @Setup
+    public void setUp() {
+        world = new World(new Vector2(0, GameConfig.GRAVITY), true);
+        new MapLayout(world, BenchmarkAssets.map());
+        bodies = new BodyStateCache();
+        CharacterArchetype archetype = BenchmarkAssets.characters().get(MatchSimulation.DEFAULT_PLAYER);
+        character = archetype.create(world, new CharacterStateStore(bodies), new Vector2(GameConfig.WORLD_CENTER_X, 1f),
+                archetype.getDefaultStats());
+    }
+
+    @TearDown
+    public void tearDown() {
+        world.dispose();
+    }
+
+    @Benchmark
+    public CharacterBase tick() {
+        character.changeState(state);
+        character.update(GameConfig.TIME_STEP);
+        bodies.flush();
+        return character;
+    }
+}
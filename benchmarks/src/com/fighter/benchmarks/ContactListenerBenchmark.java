@@ -0,0 +1,107 @@
+package com.fighter.benchmarks;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Contact;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.World;
+import com.fighter.config.GameConfig;
+import com.fighter.entity.CharacterStateStore;
+import com.fighter.entity.CharacterBase;
+import com.fighter.entity.CharacterArchetype;
+import com.fighter.map.MapLayout;
+import com.fighter.simulation.MatchSimulation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispatch cost of {@link MatchSimulation.MyContactListener} for a foot
+ * sensor touching the ground, with the sensor as fixture A and as fixture B.
+ * Contacts are replayed outside of a world step using real fixtures.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContactListenerBenchmark {
+
+    private World world;
+    private CharacterBase character;
+    private MatchSimulation.MyContactListener listener;
+
+    private Contact footFirst;
+    private Contact groundFirst;
+
+    @Setup
+    public void setUp() {
+        world = new World(new Vector2(0, GameConfig.GRAVITY), true);
+        MapLayout map = new MapLayout(world, BenchmarkAssets.map());
+        CharacterStateStore states = new CharacterStateStore();
+        CharacterArchetype archetype = BenchmarkAssets.characters().get(MatchSimulation.DEFAULT_ENEMY);
+        character = archetype.create(world, states, new Vector2(GameConfig.WORLD_CENTER_X, 1f),
+                archetype.getDefaultStats());
+        listener = new MatchSimulation.MyContactListener();
+
+        Fixture ground = map.getBodies().first().getFixtureList().first();
+        Fixture foot = null;
+        for (Fixture fixture : character.getBody().getFixtureList()) {
+            if (fixture.isSensor()) foot = fixture;
+        }
+
+        footFirst = new ReplayedContact(world, foot, ground);
+        groundFirst = new ReplayedContact(world, ground, foot);
+    }
+
+    @TearDown
+    public void tearDown() {
+        world.dispose();
+    }
+
+    @Benchmark
+    public int footFirst() {
+        listener.beginContact(footFirst);
+        listener.endContact(footFirst);
+        return character.getFootContacts();
+    }
+
+    @Benchmark
+    public int groundFirst() {
+        listener.beginContact(groundFirst);
+        listener.endContact(groundFirst);
+        return character.getFootContacts();
+    }
+
+    // Contact that reports fixed fixtures without a native contact behind it
+    private static class ReplayedContact extends Contact {
+        private final Fixture fixtureA;
+        private final Fixture fixtureB;
+
+        ReplayedContact(World world, Fixture fixtureA, Fixture fixtureB) {
+            super(world, 0);
+            this.fixtureA = fixtureA;
+            this.fixtureB = fixtureB;
+        }
+
+        @Override
+        public Fixture getFixtureA() {
+            return fixtureA;
+        }
+
+        @Override
+        public Fixture getFixtureB() {
+            return fixtureB;
+        }
+    }
+}
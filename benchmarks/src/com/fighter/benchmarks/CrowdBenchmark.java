@@ -0,0 +1,72 @@
+package com.fighter.benchmarks;
+
+import com.fighter.input.InputFrame;
+import com.fighter.simulation.MatchSimulation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ticks per second of a headless match as the crowd grows. Every fighter
+ * walks, attacks, guards and jumps on the same script, shifted by its slot
+ * so they are never all in the same state.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CrowdBenchmark {
+
+    private static final int SCRIPT_LENGTH = 120;
+    private static final int SLOT_OFFSET = 7;
+
+    @Param({"2", "16", "64"})
+    public int fighters;
+
+    private MatchSimulation simulation;
+    private int[] inputs;
+
+    @Setup
+    public void setUp() {
+        simulation = new MatchSimulation(BenchmarkAssets.characters(), BenchmarkAssets.map(), fighters);
+        inputs = new int[fighters];
+    }
+
+    @TearDown
+    public void tearDown() {
+        simulation.dispose();
+    }
+
+    @Benchmark
+    public long tick() {
+        long tick = simulation.getTick();
+        for (int slot = 0; slot < fighters; ++slot) {
+            inputs[slot] = script((int) ((tick + slot * SLOT_OFFSET) % SCRIPT_LENGTH));
+        }
+        simulation.tick(inputs);
+        return simulation.getTick();
+    }
+
+    private static int script(int step) {
+        if (step < 20) return InputFrame.RIGHT;
+        if (step < 30) return InputFrame.ATTACK;
+        if (step < 50) return InputFrame.LEFT;
+        if (step < 60) return InputFrame.ATTACK;
+        if (step < 80) return InputFrame.GUARD;
+        if (step < 85) return InputFrame.JUMP;
+        return InputFrame.NONE;
+    }
+}
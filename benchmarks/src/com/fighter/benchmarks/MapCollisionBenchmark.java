@@ -0,0 +1,139 @@
+package com.fighter.benchmarks;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.PolygonShape;
+import com.badlogic.gdx.physics.box2d.World;
+import com.fighter.config.GameConfig;
+import com.fighter.entity.CharacterStateStore;
+import com.fighter.entity.CharacterArchetype;
+import com.fighter.map.MapDef;
+import com.fighter.map.MapLayout;
+import com.fighter.simulation.MatchSimulation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One Box2D step of a large tiled stage, with its solids merged by
+ * {@link MapDef} against one static body per tile. The characters stand
+ * across tile seams, so the per tile stage also pays for the extra contacts
+ * on top of the bigger broadphase.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapCollisionBenchmark {
+
+    private static final int SETTLE_TICKS = 120;
+    private static final int CHARACTERS = 8;
+
+    // 16 x 4 world units: a floor, two floating platforms and a wall at each end
+    private static final int COLUMNS = 64;
+    private static final int ROWS = 16;
+    private static final float CELL_SIZE = 0.25f;
+
+    @Param({"merged", "perTile"})
+    public String solids;
+
+    private World world;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Awake bodies like in a match, so nothing goes to sleep on the floor
+        world = new World(new Vector2(0, GameConfig.GRAVITY), false);
+        world.setContactListener(new MatchSimulation.MyContactListener());
+
+        if (solids.equals("merged")) {
+            new MapLayout(world, MapDef.parse(stageJson()));
+        } else {
+            createTileBodies();
+        }
+
+        CharacterStateStore states = new CharacterStateStore();
+        CharacterArchetype archetype = BenchmarkAssets.characters().get(MatchSimulation.DEFAULT_ENEMY);
+
+        float spacing = COLUMNS * CELL_SIZE / (CHARACTERS + 1);
+        for (int i = 0; i < CHARACTERS; ++i) {
+            archetype.create(world, states, new Vector2(spacing * (i + 1), 1.5f),
+                    archetype.getDefaultStats());
+        }
+
+        for (int i = 0; i < SETTLE_TICKS; ++i) {
+            step();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        world.dispose();
+    }
+
+    @Benchmark
+    public World step() {
+        world.step(GameConfig.TIME_STEP, GameConfig.VELOCITY_ITERATIONS, GameConfig.POSITION_ITERATIONS);
+        return world;
+    }
+
+    // == Stage ==
+    private static boolean isSolid(int column, int row) {
+        boolean floor = row < 3;
+        boolean wall = (column < 2 || column >= COLUMNS - 2) && row < 11;
+        boolean platform = (row == 8 || row == 9) && ((column >= 12 && column < 24) || (column >= 40 && column < 52));
+        return floor || wall || platform;
+    }
+
+    private static String stageJson() {
+        StringBuilder json = new StringBuilder();
+        json.append("{ background: bg, grid: { cellSize: ").append(CELL_SIZE)
+                .append(", legend: { \"#\": { region: tile, solid: true } }, rows: [");
+
+        // Top row first, as in a map file
+        for (int row = ROWS - 1; row >= 0; --row) {
+            json.append('"');
+            for (int column = 0; column < COLUMNS; ++column) {
+                json.append(isSolid(column, row) ? '#' : '.');
+            }
+            json.append(row > 0 ? "\"," : "\"");
+        }
+        return json.append("] } }").toString();
+    }
+
+    // What loading the grid without merging would give
+    private void createTileBodies() {
+        BodyDef bodyDef = new BodyDef();
+        bodyDef.type = BodyDef.BodyType.StaticBody;
+
+        PolygonShape shape = new PolygonShape();
+        shape.setAsBox(CELL_SIZE / 2f, CELL_SIZE / 2f);
+
+        for (int row = 0; row < ROWS; ++row) {
+            for (int column = 0; column < COLUMNS; ++column) {
+                if (!isSolid(column, row)) continue;
+
+                bodyDef.position.set((column + 0.5f) * CELL_SIZE, (row + 0.5f) * CELL_SIZE);
+
+                Body body = world.createBody(bodyDef);
+                body.createFixture(shape, 0f);
+            }
+        }
+
+        shape.dispose();
+    }
+}
@@ -0,0 +1,77 @@
+package com.fighter.benchmarks;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.fighter.config.GameConfig;
+import com.fighter.map.MapDef;
+import com.fighter.map.MapLayout;
+import com.fighter.screen.game.MapView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU cost of the map: drawing the laid out tiles of the test map into a
+ * {@link RecordingBatch}, which is what MapView falls back to without a
+ * SpriteCache, and laying the tiles out again after a map change. The
+ * regions have no texture behind them, so no GL context is needed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapDrawBenchmark {
+
+    private World world;
+    private MapLayout map;
+    private MapView mapView;
+    private RecordingBatch batch;
+
+    @Setup
+    public void setUp() {
+        world = new World(new Vector2(0, GameConfig.GRAVITY), true);
+
+        map = new MapLayout(world, BenchmarkAssets.map());
+
+        ObjectMap<String, TextureRegion> regions = new ObjectMap<String, TextureRegion>();
+        regions.put(map.getDef().getBackground(), new TextureRegion());
+        for (MapDef.Tile tile : map.getDef().getTiles()) {
+            regions.put(tile.getRegion(), new TextureRegion());
+        }
+
+        mapView = new MapView(map, regions);
+        batch = new RecordingBatch();
+    }
+
+    @TearDown
+    public void tearDown() {
+        world.dispose();
+    }
+
+    @Benchmark
+    public float draw() {
+        batch.reset();
+        mapView.draw(batch, 1f);
+        return batch.getChecksum();
+    }
+
+    @Benchmark
+    public MapView layout() {
+        mapView.setMap(map);
+        return mapView;
+    }
+}
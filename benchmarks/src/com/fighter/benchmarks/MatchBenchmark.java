@@ -0,0 +1,75 @@
+package com.fighter.benchmarks;
+
+import com.fighter.ai.AI;
+import com.fighter.ai.AiScheduler;
+import com.fighter.ai.MatchView;
+import com.fighter.entity.CharacterBase;
+import com.fighter.input.InputFrame;
+import com.fighter.simulation.MatchSimulation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ticks per second of a headless two-character match. The player walks into
+ * range and then keeps attacking, guarding and jumping.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatchBenchmark {
+
+    private static final float ATTACK_POSITION = 6.5f;
+    private static final int SCRIPT_LENGTH = 120;
+
+    private MatchSimulation simulation;
+    private AI enemy;
+    private final AiScheduler scheduler = new AiScheduler(0);
+    private final int[] inputs = new int[MatchSimulation.MAX_PLAYERS];
+
+    @Setup
+    public void setUp() {
+        simulation = new MatchSimulation(BenchmarkAssets.characters(), BenchmarkAssets.map());
+        enemy = new AI(new MatchView(simulation), MatchSimulation.ENEMY_SLOT);
+        scheduler.add(enemy);
+    }
+
+    @TearDown
+    public void tearDown() {
+        simulation.dispose();
+    }
+
+    @Benchmark
+    public long tick() {
+        scheduler.update();
+        inputs[MatchSimulation.PLAYER_SLOT] = script(simulation.getPlayerCharacter(), simulation.getTick());
+        inputs[MatchSimulation.ENEMY_SLOT] = enemy.sample();
+        simulation.tick(inputs);
+        return simulation.getTick();
+    }
+
+    private static int script(CharacterBase player, long tick) {
+        if (player.getX() < ATTACK_POSITION) return InputFrame.RIGHT;
+
+        int step = (int) (tick % SCRIPT_LENGTH);
+
+        if (step < 10) return InputFrame.ATTACK;
+        if (step < 40) return InputFrame.NONE;
+        if (step < 70) return InputFrame.GUARD;
+        if (step < 75) return InputFrame.JUMP;
+        return InputFrame.NONE;
+    }
+}
@@ -0,0 +1,84 @@
+package com.fighter.benchmarks;
+
+import com.fighter.ai.AI;
+import com.fighter.ai.MatchView;
+import com.fighter.ai.ParallelAiScheduler;
+import com.fighter.simulation.MatchSimulation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The AI phase of a tick where every fighter is an AI: capturing the view
+ * and every AI thinking, on worker pools of growing size. The match is
+ * played for a while first and then held still, so only the AI is timed.
+ * With enough AIs the phase should shrink about as fast as threads are
+ * added, up to the number of cores. Go past the defaults with
+ * {@code -p threads=...} on machines with more of them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelAiBenchmark {
+
+    private static final int SETTLE_TICKS = 120;
+
+    @Param({"8", "32", "128"})
+    public int fighters;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private MatchSimulation simulation;
+    private ForkJoinPool pool;
+    private ParallelAiScheduler scheduler;
+
+    @Setup
+    public void setUp() {
+        simulation = new MatchSimulation(BenchmarkAssets.characters(), BenchmarkAssets.map(), fighters);
+        pool = new ForkJoinPool(threads);
+        scheduler = new ParallelAiScheduler(pool);
+
+        MatchView view = new MatchView(simulation);
+        for (int slot = 0; slot < fighters; ++slot) {
+            scheduler.add(new AI(view, slot));
+        }
+
+        // Spread the crowd out and into different states before timing
+        int[] inputs = new int[fighters];
+        for (int tick = 0; tick < SETTLE_TICKS; ++tick) {
+            scheduler.update();
+            for (int slot = 0; slot < fighters; ++slot) {
+                inputs[slot] = scheduler.getControllers().get(slot).sample();
+            }
+            simulation.tick(inputs);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+        simulation.dispose();
+    }
+
+    @Benchmark
+    public int think() {
+        scheduler.update();
+        return scheduler.getControllers().peek().sample();
+    }
+}
@@ -0,0 +1,84 @@
+package com.fighter.benchmarks;
+
+import com.fighter.map.MapDef;
+import com.fighter.simulation.MatchSimulation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One match tick on stages of growing width, strewn with platforms that
+ * don't merge. With chunks only the platforms near the fighters are in the
+ * world, so the tick should cost the same on any width. Without them, one
+ * chunk covers the whole stage.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StageSizeBenchmark {
+
+    private static final int SETTLE_TICKS = 120;
+    private static final float PLATFORM_SPACING = 2.5f;
+
+    @Param({"16", "128", "512"})
+    public int stageWidth;
+
+    @Param({"true", "false"})
+    public boolean chunked;
+
+    private MatchSimulation simulation;
+    private final int[] inputs = new int[MatchSimulation.MAX_PLAYERS];
+
+    @Setup
+    public void setUp() throws IOException {
+        simulation = new MatchSimulation(BenchmarkAssets.characters(), MapDef.parse(stageJson()));
+
+        for (int i = 0; i < SETTLE_TICKS; ++i) {
+            tick();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        simulation.dispose();
+    }
+
+    @Benchmark
+    public long tick() {
+        simulation.tick(inputs);
+        return simulation.getTick();
+    }
+
+    // A floor and two rows of platforms, staggered so none of them touch
+    private String stageJson() {
+        StringBuilder json = new StringBuilder();
+        json.append("{ background: bg");
+        if (!chunked) {
+            json.append(", chunkWidth: ").append(stageWidth);
+        }
+        json.append(", solids: [ { x: 0, y: 0, width: ").append(stageWidth).append(", height: 0.85 }");
+
+        int platforms = (int) (stageWidth / PLATFORM_SPACING);
+        for (int i = 0; i < platforms; ++i) {
+            json.append(", { x: ").append(i * PLATFORM_SPACING)
+                    .append(", y: ").append(i % 2 == 0 ? 2f : 3.5f)
+                    .append(", width: 1.5, height: 0.3 }");
+        }
+        return json.append(" ] }").toString();
+    }
+}
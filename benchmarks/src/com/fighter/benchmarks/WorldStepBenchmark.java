@@ -0,0 +1,75 @@
+package com.fighter.benchmarks;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.World;
+import com.fighter.config.GameConfig;
+import com.fighter.entity.CharacterStateStore;
+import com.fighter.entity.CharacterArchetype;
+import com.fighter.map.MapLayout;
+import com.fighter.simulation.MatchSimulation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One Box2D step of the current {@link MapLayout} with N characters standing
+ * on the ground, so the step includes resting contacts.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorldStepBenchmark {
+
+    private static final int SETTLE_TICKS = 120;
+
+    @Param({"2", "8", "32"})
+    public int characters;
+
+    private World world;
+
+    @Setup
+    public void setUp() {
+        world = new World(new Vector2(0, GameConfig.GRAVITY), true);
+        world.setContactListener(new MatchSimulation.MyContactListener());
+        new MapLayout(world, BenchmarkAssets.map());
+        CharacterStateStore states = new CharacterStateStore();
+
+        CharacterArchetype archetype = BenchmarkAssets.characters().get(MatchSimulation.DEFAULT_ENEMY);
+
+        float spacing = GameConfig.WORLD_WIDTH / (characters + 1);
+        for (int i = 0; i < characters; ++i) {
+            archetype.create(world, states, new Vector2(spacing * (i + 1), 1f),
+                    archetype.getDefaultStats());
+        }
+
+        // Let everyone land so we measure the steady state
+        for (int i = 0; i < SETTLE_TICKS; ++i) {
+            step();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        world.dispose();
+    }
+
+    @Benchmark
+    public World step() {
+        world.step(GameConfig.TIME_STEP, GameConfig.VELOCITY_ITERATIONS, GameConfig.POSITION_ITERATIONS);
+        return world;
+    }
+}
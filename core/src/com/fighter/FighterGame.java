@@ -5,17 +5,36 @@ import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.physics.box2d.World;
 import com.badlogic.gdx.utils.Logger;
+import com.fighter.assets.AssetDescriptors;
+import com.fighter.assets.AssetLoadingService;
+import com.fighter.assets.CharacterBundles;
+import com.fighter.assets.CharacterRegistryLoader;
+import com.fighter.assets.MapDefLoader;
+import com.fighter.config.GameConfig;
+import com.fighter.entity.CharacterRegistry;
+import com.fighter.map.MapDef;
 import com.fighter.screen.loading.LoadingScreen;
+import com.fighter.utils.debug.GcCounter;
 
 public class FighterGame extends Game {
 
     // == Attributes ==
+    private final GcCounter gcCounter;
+
     private SpriteBatch batch;
     private AssetManager assetManager;
-    private World world;
+    private AssetLoadingService assetLoader;
+    private CharacterBundles characterBundles;
+
+    // == Constructors ==
+    public FighterGame() {
+        this(GcCounter.NONE);
+    }
+
+    public FighterGame(GcCounter gcCounter) {
+        this.gcCounter = gcCounter;
+    }
 
     // == Public methods ==
     public SpriteBatch getBatch() {
@@ -26,8 +45,21 @@ public class FighterGame extends Game {
         return assetManager;
     }
 
-    public World getWorld() {
-        return world;
+    public AssetLoadingService getAssetLoader() {
+        return assetLoader;
+    }
+
+    public CharacterBundles getCharacterBundles() {
+        return characterBundles;
+    }
+
+    public GcCounter getGcCounter() {
+        return gcCounter;
+    }
+
+    // Needs the characters to be loaded
+    public CharacterRegistry getCharacters() {
+        return assetManager.get(AssetDescriptors.CHARACTERS);
     }
 
     @Override
@@ -37,15 +69,31 @@ public class FighterGame extends Game {
         batch = new SpriteBatch();
         assetManager = new AssetManager();
         assetManager.getLogger().setLevel(Logger.DEBUG);
-        world = new World(new Vector2(0, -25f), true);
+        assetManager.setLoader(CharacterRegistry.class,
+                new CharacterRegistryLoader(assetManager.getFileHandleResolver()));
+        assetManager.setLoader(MapDef.class, new MapDefLoader(assetManager.getFileHandleResolver()));
+
+        // Leave a core to the render thread
+        int decodeThreads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        assetLoader = new AssetLoadingService(assetManager, decodeThreads);
+
+        characterBundles = new CharacterBundles(assetManager, assetLoader, GameConfig.CHARACTER_TEXTURE_BUDGET);
 
         setScreen(new LoadingScreen(this));
     }
 
+    @Override
+    public void render() {
+        // Speculative assets keep loading behind whatever screen is showing
+        assetLoader.update();
+        super.render();
+    }
+
     @Override
     public void dispose() {
         batch.dispose();
+        assetLoader.dispose();
         assetManager.dispose();
-        world.dispose();
+        characterBundles.dispose();
     }
 }
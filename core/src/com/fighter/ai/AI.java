@@ -0,0 +1,168 @@
+package com.fighter.ai;
+
+import com.badlogic.gdx.ai.btree.BehaviorTree;
+import com.badlogic.gdx.ai.btree.Task;
+import com.badlogic.gdx.ai.btree.branch.Selector;
+import com.badlogic.gdx.ai.btree.branch.Sequence;
+import com.badlogic.gdx.math.RandomXS128;
+import com.fighter.ai.ActionTask.Action;
+import com.fighter.ai.ConditionTask.Condition;
+import com.fighter.input.InputController;
+import com.fighter.input.InputFrame;
+
+/**
+ * Plays one input slot of a match with a behavior tree over a
+ * {@link MatchView}.
+ * <p>
+ * Thinking and playing are apart. {@link #think()} runs the tree and
+ * decides which buttons to press, whenever the {@link AiScheduler} gets
+ * round to it. {@link #sample()} hands the match the latest decision every
+ * tick, so an AI that thinks less often reacts later but never freezes.
+ */
+public class AI implements InputController {
+
+    // == Constants ==
+
+    // Pressed for one tick per decision, so deciding on them again starts a
+    // new swing or jump instead of holding the old one
+    private static final int TAP_BUTTONS = InputFrame.JUMP | InputFrame.ATTACK;
+
+    // == Attributes ==
+    private final MatchView view;
+    private final int slot;
+    private final BehaviorTree<AI> tree;
+
+    // Seeded by slot, so without a time budget every run decides the same
+    private final RandomXS128 random;
+
+    // Chosen anew every time the AI thinks, -1 without opponents
+    private int opponent = -1;
+
+    private int held;
+    private int tapped;
+    private int previousTaps;
+
+    private int ticksSinceThink;
+
+    // == Constructors ==
+    public AI(MatchView view, int slot) {
+        this.view = view;
+        this.slot = slot;
+        random = new RandomXS128(slot + 1);
+        tree = new BehaviorTree<AI>(createTree(), this);
+    }
+
+    // == Public methods ==
+
+    // Decides what to press until the next call. Only reads the view and
+    // writes this AI, so AIs on the same view can think on any threads
+    public void think() {
+        held = InputFrame.NONE;
+        tapped = InputFrame.NONE;
+        ticksSinceThink = 0;
+
+        opponent = view.findOpponent(slot);
+        if (opponent >= 0) tree.step();
+    }
+
+    @Override
+    public int sample() {
+        // A tap held over from the previous tick is released first
+        int taps = tapped & ~previousTaps;
+        previousTaps = taps;
+        tapped = InputFrame.NONE;
+
+        ++ticksSinceThink;
+        return held | taps;
+    }
+
+    public MatchView getView() {
+        return view;
+    }
+
+    public int getSlot() {
+        return slot;
+    }
+
+    public int getOpponent() {
+        return opponent;
+    }
+
+    public RandomXS128 getRandom() {
+        return random;
+    }
+
+    // Ticks sampled since the AI last thought
+    public int getTicksSinceThink() {
+        return ticksSinceThink;
+    }
+
+    // Signed, positive when the opponent is to the right
+    public float getDistance() {
+        return view.getX(opponent) - view.getX(slot);
+    }
+
+    public int towards() {
+        return (getDistance() > 0) ? InputFrame.RIGHT : InputFrame.LEFT;
+    }
+
+    public int away() {
+        return (getDistance() > 0) ? InputFrame.LEFT : InputFrame.RIGHT;
+    }
+
+    // == Package-private methods ==
+    void press(int buttons) {
+        held |= buttons & ~TAP_BUTTONS;
+        tapped |= buttons & TAP_BUTTONS;
+    }
+
+    // == Private methods ==
+
+    // The first branch whose conditions all hold decides. Built with
+    // addChild, since the varargs constructors make generic arrays
+    private static Task<AI> createTree() {
+        Selector<AI> root = new Selector<AI>();
+
+        // Block some of the swings about to land
+        Sequence<AI> guard = new Sequence<AI>();
+        guard.addChild(new ConditionTask(Condition.CAN_GUARD));
+        guard.addChild(new ConditionTask(Condition.OPPONENT_ATTACKING));
+        guard.addChild(new ConditionTask(Condition.IN_REACH));
+        guard.addChild(new ConditionTask(Condition.GUARD_CHANCE));
+        guard.addChild(new ActionTask(Action.GUARD));
+        root.addChild(guard);
+
+        // Back off when losing badly, while there is room to
+        Sequence<AI> retreat = new Sequence<AI>();
+        retreat.addChild(new ConditionTask(Condition.LOW_HEALTH));
+        retreat.addChild(new ConditionTask(Condition.NEAR));
+        retreat.addChild(new ConditionTask(Condition.CAN_RETREAT));
+        retreat.addChild(new ActionTask(Action.RETREAT));
+        root.addChild(retreat);
+
+        // Swing when in reach, turning around first if needed
+        Sequence<AI> swing = new Sequence<AI>();
+        swing.addChild(new ConditionTask(Condition.FACING_OPPONENT));
+        swing.addChild(new ActionTask(Action.ATTACK));
+
+        Selector<AI> swingOrTurn = new Selector<AI>();
+        swingOrTurn.addChild(swing);
+        swingOrTurn.addChild(new ActionTask(Action.APPROACH));
+
+        Sequence<AI> attack = new Sequence<AI>();
+        attack.addChild(new ConditionTask(Condition.IN_REACH));
+        attack.addChild(swingOrTurn);
+        root.addChild(attack);
+
+        // Follow the opponent up onto a platform
+        Sequence<AI> follow = new Sequence<AI>();
+        follow.addChild(new ConditionTask(Condition.OPPONENT_ABOVE));
+        follow.addChild(new ConditionTask(Condition.ON_GROUND));
+        follow.addChild(new ConditionTask(Condition.UNDER_OPPONENT_PLATFORM));
+        follow.addChild(new ActionTask(Action.JUMP_TOWARDS));
+        root.addChild(follow);
+
+        root.addChild(new ActionTask(Action.APPROACH));
+        return root;
+    }
+}
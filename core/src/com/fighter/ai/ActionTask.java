@@ -0,0 +1,110 @@
+package com.fighter.ai;
+
+import com.badlogic.gdx.ai.btree.LeafTask;
+import com.badlogic.gdx.ai.btree.Task;
+import com.fighter.input.InputFrame;
+
+/**
+ * Presses the buttons of its {@link Action}. The AI holds them until it
+ * thinks again, and actions that take a while keep running, so pressed,
+ * for their hold time in ticks before the tree decides anything else.
+ */
+public class ActionTask extends LeafTask<AI> {
+
+    // == Attributes ==
+    private Action action;
+
+    // Match tick the action started on
+    private long startTick;
+
+    // == Constructors ==
+
+    // For cloning only
+    public ActionTask() {
+    }
+
+    public ActionTask(Action action) {
+        this.action = action;
+    }
+
+    // == Public methods ==
+    @Override
+    public void start() {
+        startTick = getObject().getView().getTick();
+    }
+
+    @Override
+    public Status execute() {
+        AI ai = getObject();
+        ai.press(action.getButtons(ai));
+
+        long ticks = ai.getView().getTick() - startTick;
+        return (ticks < action.getHoldTicks()) ? Status.RUNNING : Status.SUCCEEDED;
+    }
+
+    // == Protected methods ==
+    @Override
+    protected Task<AI> copyTo(Task<AI> task) {
+        ((ActionTask) task).action = action;
+        return task;
+    }
+
+    // == Enums ==
+    public enum Action {
+
+        APPROACH() {
+            @Override
+            public int getButtons(AI ai) {
+                return ai.towards();
+            }
+        },
+
+        RETREAT() {
+            @Override
+            public int getButtons(AI ai) {
+                return ai.away();
+            }
+
+            @Override
+            public int getHoldTicks() {
+                return RETREAT_TICKS;
+            }
+        },
+
+        ATTACK() {
+            @Override
+            public int getButtons(AI ai) {
+                return InputFrame.ATTACK;
+            }
+        },
+
+        GUARD() {
+            @Override
+            public int getButtons(AI ai) {
+                return InputFrame.GUARD;
+            }
+
+            @Override
+            public int getHoldTicks() {
+                return GUARD_TICKS;
+            }
+        },
+
+        JUMP_TOWARDS() {
+            @Override
+            public int getButtons(AI ai) {
+                return InputFrame.JUMP | ai.towards();
+            }
+        };
+
+        private static final int RETREAT_TICKS = 15;
+        private static final int GUARD_TICKS = 20;
+
+        public abstract int getButtons(AI ai);
+
+        // How long the action keeps running once started, 0 for a single decision
+        public int getHoldTicks() {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.fighter.ai;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/**
+ * Lets AI controllers think within a fixed time budget per tick. They
+ * take turns, starting after the last one that got to think, until the
+ * budget is spent. At least one thinks every tick, so with many AIs each
+ * decides less often, and the tick takes no longer.
+ * <p>
+ * Without a budget every AI thinks every tick, which is also the only way
+ * to get the same decisions on every run.
+ *
+ * @see ParallelAiScheduler
+ */
+public class AiScheduler {
+
+    // == Attributes ==
+    private final Array<AI> controllers = new Array<AI>();
+    private final Array<MatchView> views = new Array<MatchView>();
+    private final long budgetNanos;
+
+    // The controller that thinks first on the next update
+    private int next;
+
+    private int thinkCount;
+
+    // == Constructors ==
+
+    /**
+     * @param budgetMicros time the AIs may take per tick, 0 or less for
+     *                     no limit
+     */
+    public AiScheduler(int budgetMicros) {
+        budgetNanos = budgetMicros * 1000L;
+    }
+
+    // == Public methods ==
+    public void add(AI controller) {
+        controllers.add(controller);
+        if (!views.contains(controller.getView(), true)) views.add(controller.getView());
+    }
+
+    // Call once per tick, before the controllers are sampled
+    public void update() {
+        thinkCount = 0;
+        if (controllers.size == 0) return;
+
+        for (int i = 0; i < views.size; ++i) {
+            views.get(i).capture();
+        }
+
+        long start = TimeUtils.nanoTime();
+
+        while (thinkCount < controllers.size) {
+            controllers.get(next).think();
+            next = (next + 1) % controllers.size;
+            ++thinkCount;
+
+            if (budgetNanos > 0 && TimeUtils.nanoTime() - start >= budgetNanos) break;
+        }
+    }
+
+    public Array<AI> getControllers() {
+        return controllers;
+    }
+
+    // How many controllers thought in the last update
+    public int getThinkCount() {
+        return thinkCount;
+    }
+
+    // Most ticks any controller has gone on its last decision
+    public int getMaxTicksSinceThink() {
+        int max = 0;
+        for (int i = 0; i < controllers.size; ++i) {
+            max = Math.max(max, controllers.get(i).getTicksSinceThink());
+        }
+        return max;
+    }
+}
@@ -0,0 +1,155 @@
+package com.fighter.ai;
+
+import com.badlogic.gdx.ai.btree.LeafTask;
+import com.badlogic.gdx.ai.btree.Task;
+import com.fighter.entity.CharacterBase;
+
+/**
+ * Succeeds if its {@link Condition} holds for the AI and its opponent,
+ * fails otherwise.
+ */
+public class ConditionTask extends LeafTask<AI> {
+
+    // == Attributes ==
+    private Condition condition;
+
+    // == Constructors ==
+
+    // For cloning only
+    public ConditionTask() {
+    }
+
+    public ConditionTask(Condition condition) {
+        this.condition = condition;
+    }
+
+    // == Public methods ==
+    @Override
+    public Status execute() {
+        return condition.test(getObject(), getObject().getView()) ? Status.SUCCEEDED : Status.FAILED;
+    }
+
+    // == Protected methods ==
+    @Override
+    protected Task<AI> copyTo(Task<AI> task) {
+        ((ConditionTask) task).condition = condition;
+        return task;
+    }
+
+    // == Enums ==
+    public enum Condition {
+
+        // The opponent is close enough to hit
+        IN_REACH() {
+            @Override
+            public boolean test(AI ai, MatchView view) {
+                int self = ai.getSlot();
+                int opponent = ai.getOpponent();
+
+                return Math.abs(ai.getDistance()) <= view.getReach(self) + view.getWidth(opponent) / 2f
+                        && Math.abs(view.getY(opponent) - view.getY(self)) < view.getHeight(self);
+            }
+        },
+
+        // The opponent would be in reach after a couple of steps
+        NEAR() {
+            @Override
+            public boolean test(AI ai, MatchView view) {
+                return Math.abs(ai.getDistance()) <= view.getReach(ai.getSlot()) * NEAR_REACHES;
+            }
+        },
+
+        FACING_OPPONENT() {
+            @Override
+            public boolean test(AI ai, MatchView view) {
+                CharacterBase.Direction towards = (ai.getDistance() > 0)
+                        ? CharacterBase.Direction.RIGHT : CharacterBase.Direction.LEFT;
+                return view.getFacing(ai.getSlot()) == towards;
+            }
+        },
+
+        OPPONENT_ATTACKING() {
+            @Override
+            public boolean test(AI ai, MatchView view) {
+                return view.getState(ai.getOpponent()) == CharacterBase.CharacterState.ATTACKING;
+            }
+        },
+
+        // Not every swing is worth blocking, some are better traded
+        GUARD_CHANCE() {
+            @Override
+            public boolean test(AI ai, MatchView view) {
+                return ai.getRandom().nextFloat() < GUARD_PROBABILITY;
+            }
+        },
+
+        CAN_GUARD() {
+            @Override
+            public boolean test(AI ai, MatchView view) {
+                return view.canGuard(ai.getSlot());
+            }
+        },
+
+        // Losing, with little health left
+        LOW_HEALTH() {
+            @Override
+            public boolean test(AI ai, MatchView view) {
+                int self = ai.getSlot();
+                int health = view.getHealth(self);
+                return health < view.getMaxHealth(self) * LOW_HEALTH_FRACTION
+                        && health < view.getHealth(ai.getOpponent());
+            }
+        },
+
+        // Not backed against the end of the stage
+        CAN_RETREAT() {
+            @Override
+            public boolean test(AI ai, MatchView view) {
+                float x = view.getX(ai.getSlot());
+                float room = (ai.getDistance() > 0) ? x : view.getStageWidth() - x;
+                return room > RETREAT_ROOM;
+            }
+        },
+
+        ON_GROUND() {
+            @Override
+            public boolean test(AI ai, MatchView view) {
+                return view.isOnGround(ai.getSlot());
+            }
+        },
+
+        // The opponent stands on a platform higher up than the AI
+        OPPONENT_ABOVE() {
+            @Override
+            public boolean test(AI ai, MatchView view) {
+                int opponent = ai.getOpponent();
+                int platform = view.findSolidBelow(opponent);
+                int ground = view.findSolidBelow(ai.getSlot());
+
+                return platform >= 0 && view.isOnGround(opponent)
+                        && (ground < 0 || view.getSolidTop(platform) > view.getSolidTop(ground));
+            }
+        },
+
+        // Close enough under the opponent's platform to jump onto it
+        UNDER_OPPONENT_PLATFORM() {
+            @Override
+            public boolean test(AI ai, MatchView view) {
+                int platform = view.findSolidBelow(ai.getOpponent());
+                if (platform < 0) return false;
+
+                float x = view.getX(ai.getSlot());
+                return x >= view.getSolidLeft(platform) - JUMP_REACH
+                        && x <= view.getSolidRight(platform) + JUMP_REACH;
+            }
+        };
+
+        private static final float GUARD_PROBABILITY = 0.1f;
+        private static final float NEAR_REACHES = 2f;
+        private static final float LOW_HEALTH_FRACTION = 0.25f;
+        private static final float RETREAT_ROOM = 1f;
+        private static final float JUMP_REACH = 0.5f;
+
+        public abstract boolean test(AI ai, MatchView view);
+    }
+}
@@ -0,0 +1,243 @@
+package com.fighter.ai;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.fighter.entity.CharacterBase;
+import com.fighter.entity.HitboxDef;
+import com.fighter.map.MapDef;
+import com.fighter.simulation.MatchSimulation;
+
+/**
+ * What an AI may know about a match, by input slot: where the fighters
+ * are, what they are doing, their health and the solids of the stage.
+ * Nothing here can change the match, so AI controllers only ever act
+ * through the buttons they press.
+ * <p>
+ * The view is a snapshot, taken by {@link #capture()} once per tick before
+ * the AIs think. Until the next capture nothing in it changes, so any
+ * number of AIs can read it from any threads while the match moves on.
+ * <p>
+ * Slots of the same parity fight on the same side, so the player side is
+ * every even slot and the enemy side every odd one.
+ */
+public class MatchView {
+
+    // == Constants ==
+
+    // How far above a solid's top a fighter still counts as standing on it
+    private static final float STAND_TOLERANCE = 0.1f;
+
+    // == Attributes ==
+    private final MatchSimulation simulation;
+
+    // Fixed for the whole match, by slot
+    private final float[] width;
+    private final float[] height;
+    private final int[] maxHealth;
+    private final boolean[] guards;
+
+    // Horizontal distance from a fighter's center its swing reaches, by slot
+    private final float[] reach;
+
+    private final float stageWidth;
+    private final float[] solidLeft;
+    private final float[] solidRight;
+    private final float[] solidTop;
+
+    // As of the last capture, by slot
+    private final float[] x;
+    private final float[] y;
+    private final CharacterBase.CharacterState[] state;
+    private final CharacterBase.Direction[] facing;
+    private final int[] health;
+    private final boolean[] onGround;
+    private long tick;
+
+    // == Constructors ==
+    public MatchView(MatchSimulation simulation) {
+        this.simulation = simulation;
+
+        int fighters = simulation.getFighterCount();
+        width = new float[fighters];
+        height = new float[fighters];
+        maxHealth = new int[fighters];
+        guards = new boolean[fighters];
+        reach = new float[fighters];
+
+        for (int slot = 0; slot < fighters; ++slot) {
+            CharacterBase character = simulation.getCharacter(slot);
+            width[slot] = character.getCharacterWidth();
+            height[slot] = character.getCharacterHeight();
+            maxHealth[slot] = character.getHealth();
+            guards[slot] = character.getArchetype().canGuard();
+
+            Array<HitboxDef> hitboxes = character.getAttackHitboxes();
+            for (int i = 0; i < hitboxes.size; ++i) {
+                reach[slot] = Math.max(reach[slot], hitboxes.get(i).getMaxX());
+            }
+        }
+
+        MapDef map = simulation.getMap().getDef();
+        Array<Rectangle> solids = map.getSolids();
+        stageWidth = map.getWidth();
+        solidLeft = new float[solids.size];
+        solidRight = new float[solids.size];
+        solidTop = new float[solids.size];
+
+        for (int solid = 0; solid < solids.size; ++solid) {
+            Rectangle rectangle = solids.get(solid);
+            solidLeft[solid] = rectangle.x;
+            solidRight[solid] = rectangle.x + rectangle.width;
+            solidTop[solid] = rectangle.y + rectangle.height;
+        }
+
+        x = new float[fighters];
+        y = new float[fighters];
+        state = new CharacterBase.CharacterState[fighters];
+        facing = new CharacterBase.Direction[fighters];
+        health = new int[fighters];
+        onGround = new boolean[fighters];
+        capture();
+    }
+
+    // == Public methods ==
+
+    /**
+     * Copies the fighters as they are now. Call on the simulation thread,
+     * between ticks and while no AI is thinking.
+     */
+    public void capture() {
+        for (int slot = 0; slot < x.length; ++slot) {
+            CharacterBase character = simulation.getCharacter(slot);
+            x[slot] = character.getX();
+            y[slot] = character.getY();
+            state[slot] = character.getCurrentState();
+            facing[slot] = character.getFacing();
+            health[slot] = character.getCurrentHealth();
+            onGround[slot] = !character.inAir();
+        }
+        tick = simulation.getTick();
+    }
+
+    public int getFighterCount() {
+        return reach.length;
+    }
+
+    // The tick the view was captured on
+    public long getTick() {
+        return tick;
+    }
+
+    public boolean isOpponent(int slot, int other) {
+        return slot % 2 != other % 2;
+    }
+
+    /**
+     * The nearest opponent still standing, or the nearest one at all once
+     * every opponent is down. -1 if the slot has no opponents.
+     */
+    public int findOpponent(int slot) {
+        float x = getX(slot);
+        int nearest = -1;
+        float nearestDistance = Float.MAX_VALUE;
+        boolean nearestStanding = false;
+
+        for (int other = 0; other < reach.length; ++other) {
+            if (!isOpponent(slot, other)) continue;
+
+            float distance = Math.abs(getX(other) - x);
+            boolean standing = getHealth(other) > 0;
+
+            if ((standing && !nearestStanding) || (standing == nearestStanding && distance < nearestDistance)) {
+                nearest = other;
+                nearestDistance = distance;
+                nearestStanding = standing;
+            }
+        }
+        return nearest;
+    }
+
+    public float getX(int slot) {
+        return x[slot];
+    }
+
+    public float getY(int slot) {
+        return y[slot];
+    }
+
+    public float getWidth(int slot) {
+        return width[slot];
+    }
+
+    public float getHeight(int slot) {
+        return height[slot];
+    }
+
+    public float getReach(int slot) {
+        return reach[slot];
+    }
+
+    public CharacterBase.CharacterState getState(int slot) {
+        return state[slot];
+    }
+
+    public CharacterBase.Direction getFacing(int slot) {
+        return facing[slot];
+    }
+
+    public boolean canGuard(int slot) {
+        return guards[slot];
+    }
+
+    public boolean isOnGround(int slot) {
+        return onGround[slot];
+    }
+
+    public int getHealth(int slot) {
+        return health[slot];
+    }
+
+    public int getMaxHealth(int slot) {
+        return maxHealth[slot];
+    }
+
+    public float getStageWidth() {
+        return stageWidth;
+    }
+
+    public int getSolidCount() {
+        return solidTop.length;
+    }
+
+    public float getSolidLeft(int solid) {
+        return solidLeft[solid];
+    }
+
+    public float getSolidRight(int solid) {
+        return solidRight[solid];
+    }
+
+    public float getSolidTop(int solid) {
+        return solidTop[solid];
+    }
+
+    /**
+     * The solid a fighter of the given slot stands on or will land on, the
+     * highest one under its feet. -1 over a pit.
+     */
+    public int findSolidBelow(int slot) {
+        float x = getX(slot);
+        float feet = getY(slot) - getHeight(slot) / 2f;
+
+        int highest = -1;
+        for (int solid = 0; solid < getSolidCount(); ++solid) {
+            if (x < getSolidLeft(solid) || x > getSolidRight(solid)) continue;
+            if (getSolidTop(solid) > feet + STAND_TOLERANCE) continue;
+
+            if (highest < 0 || getSolidTop(solid) > getSolidTop(highest)) {
+                highest = solid;
+            }
+        }
+        return highest;
+    }
+}
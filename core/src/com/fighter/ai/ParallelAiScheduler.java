@@ -0,0 +1,119 @@
+package com.fighter.ai;
+
+import com.badlogic.gdx.utils.Array;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Has every AI controller think every tick, split over the workers of a
+ * {@link ForkJoinPool}, for matches with more AIs than one thread gets
+ * through in a tick.
+ * <p>
+ * An update first captures the {@link MatchView}s of the controllers on
+ * the calling thread. While the workers run, an AI only reads its view and
+ * writes its own tree, random and buttons, so what it decides doesn't
+ * depend on how many workers there are or which one ran it. The decisions
+ * come out the same as with an {@link AiScheduler} without a budget.
+ * Sampling them and ticking the match stays on the calling thread, after
+ * {@link #update()} returns.
+ * <p>
+ * Needs Java 7, or Android 5 and up.
+ */
+public class ParallelAiScheduler {
+
+    // == Constants ==
+
+    // Chunks per worker, so a worker done early can steal from a slow one
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    // == Attributes ==
+    private final ForkJoinPool pool;
+    private final Array<AI> controllers = new Array<AI>();
+    private final Array<MatchView> views = new Array<MatchView>();
+
+    // Kept and reinitialized every tick, so an update allocates no tasks
+    private final ThinkAll thinkAll = new ThinkAll();
+    private ThinkChunk[] chunks = new ThinkChunk[0];
+
+    // == Constructors ==
+    public ParallelAiScheduler(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    // == Public methods ==
+    public void add(AI controller) {
+        controllers.add(controller);
+        if (!views.contains(controller.getView(), true)) views.add(controller.getView());
+
+        split();
+    }
+
+    // Call once per tick on the simulation thread, before the controllers
+    // are sampled. Returns once every AI has thought
+    public void update() {
+        if (controllers.size == 0) return;
+
+        for (int i = 0; i < views.size; ++i) {
+            views.get(i).capture();
+        }
+
+        thinkAll.reinitialize();
+        pool.invoke(thinkAll);
+    }
+
+    public Array<AI> getControllers() {
+        return controllers;
+    }
+
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    // == Private methods ==
+
+    // Contiguous slices of the controllers, as even as they divide
+    private void split() {
+        int count = Math.min(controllers.size, pool.getParallelism() * CHUNKS_PER_WORKER);
+
+        chunks = new ThinkChunk[count];
+        for (int i = 0; i < count; ++i) {
+            chunks[i] = new ThinkChunk(controllers.size * i / count, controllers.size * (i + 1) / count);
+        }
+    }
+
+    // == ThinkAll ==
+    private class ThinkAll extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected void compute() {
+            for (int i = 0; i < chunks.length; ++i) {
+                chunks[i].reinitialize();
+            }
+            invokeAll(chunks);
+        }
+    }
+
+    // == ThinkChunk ==
+    private class ThinkChunk extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+
+        ThinkChunk(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            for (int i = from; i < to; ++i) {
+                controllers.get(i).think();
+            }
+        }
+    }
+}
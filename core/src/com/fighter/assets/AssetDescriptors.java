@@ -1,22 +1,44 @@
 package com.fighter.assets;
 
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.assets.AssetDescriptor;
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.fighter.entity.CharacterRegistry;
+import com.fighter.map.MapDef;
 
 public class AssetDescriptors {
 
-    public static final AssetDescriptor<TextureAtlas> TEST_PLAYER =
-            new AssetDescriptor<TextureAtlas>(AssetPaths.TEST_PLAYER, TextureAtlas.class);
-
     public static final AssetDescriptor<TextureAtlas> TEST_MAP =
             new AssetDescriptor<TextureAtlas>(AssetPaths.TEST_MAP, TextureAtlas.class);
 
+    public static final AssetDescriptor<MapDef> TEST_MAP_DEF =
+            new AssetDescriptor<MapDef>(AssetPaths.TEST_MAP_DEF, MapDef.class);
+
     public static final AssetDescriptor<BitmapFont> TEST_FONT =
             new AssetDescriptor<BitmapFont>(AssetPaths.TEST_FONT, BitmapFont.class);
 
+    public static final AssetDescriptor<CharacterRegistry> CHARACTERS =
+            new AssetDescriptor<CharacterRegistry>(AssetPaths.CHARACTERS, CharacterRegistry.class);
+
+    private static final String ETC1_EXTENSION = "GL_OES_compressed_ETC1_RGB8_texture";
+
     private AssetDescriptors() {
     }
+
+    // The ETC1 pages take a quarter of the memory and skip PNG decoding, but
+    // without the extension libGDX would decode them on the CPU instead
+    public static AssetDescriptor<TextureAtlas> characterAtlas(String name) {
+        String etc1Path = AssetPaths.characterEtc1Atlas(name);
+        if (supportsEtc1() && Gdx.files.internal(etc1Path).exists()) {
+            return new AssetDescriptor<TextureAtlas>(etc1Path, TextureAtlas.class);
+        }
+        return new AssetDescriptor<TextureAtlas>(AssetPaths.characterAtlas(name), TextureAtlas.class);
+    }
+
+    public static boolean supportsEtc1() {
+        return Gdx.graphics.supportsExtension(ETC1_EXTENSION);
+    }
 }
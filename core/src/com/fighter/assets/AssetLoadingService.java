@@ -0,0 +1,294 @@
+package com.fighter.assets;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.TextureLoader;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.TextureData;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData;
+import com.badlogic.gdx.graphics.glutils.KTXTextureData;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.Logger;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
+
+/**
+ * Loads assets through the {@link AssetManager} in priority order.
+ * <p>
+ * Critical assets are the ones the next screen needs, speculative ones are
+ * only started once every critical asset is in. Atlas pages are decoded on
+ * a pool of worker threads instead of the AssetManager's single loader
+ * thread, and handed to it already decoded, so only the GL upload is left
+ * for the render thread.
+ * <p>
+ * {@link #update()} must be called once per frame.
+ */
+public class AssetLoadingService implements Disposable {
+
+    // == Constants ==
+    private static final Logger LOG = new Logger(AssetLoadingService.class.getName(), Logger.DEBUG);
+
+    public enum Priority {
+        CRITICAL,
+        SPECULATIVE
+    }
+
+    // How long the AssetManager may run per frame
+    private static final int CRITICAL_BUDGET_MILLIS = 12;
+    private static final int SPECULATIVE_BUDGET_MILLIS = 4;
+
+    // == Attributes ==
+    private final AssetManager assetManager;
+    private final AsyncExecutor decoder;
+
+    private final Array<Entry> critical = new Array<Entry>();
+    private final Array<Entry> speculative = new Array<Entry>();
+
+    // == Constructors ==
+    public AssetLoadingService(AssetManager assetManager, int decodeThreads) {
+        this.assetManager = assetManager;
+        this.decoder = new AsyncExecutor(decodeThreads);
+    }
+
+    // == Public methods ==
+    public void load(AssetDescriptor<?> descriptor, Priority priority) {
+        Entry entry = new Entry(descriptor);
+        if (priority == Priority.CRITICAL) {
+            critical.add(entry);
+            start(entry);
+        } else {
+            speculative.add(entry);
+            if (isCriticalLoaded()) start(entry);
+        }
+    }
+
+    public void update() {
+        boolean criticalLoaded = isCriticalLoaded();
+
+        if (criticalLoaded) {
+            for (Entry entry : speculative) {
+                if (!entry.started) start(entry);
+            }
+        }
+
+        assetManager.update(criticalLoaded ? SPECULATIVE_BUDGET_MILLIS : CRITICAL_BUDGET_MILLIS);
+
+        // Right after the AssetManager, so whatever it finished is settled
+        // before anyone can unload it again
+        advance(critical);
+        advance(speculative);
+
+        // Forget the critical set once it is complete, the AssetManager
+        // owns the assets from there
+        if (critical.size > 0 && isCriticalLoaded()) {
+            critical.clear();
+        }
+    }
+
+    public boolean isCriticalLoaded() {
+        for (Entry entry : critical) {
+            if (!entry.finished) return false;
+        }
+        return true;
+    }
+
+    /** Progress of the critical assets, between 0 and 1, by decoding and loading steps. */
+    public float getCriticalProgress() {
+        int done = 0;
+        int total = 0;
+        for (Entry entry : critical) {
+            done += entry.getStepsDone();
+            total += entry.getSteps();
+        }
+        return (total == 0) ? 1f : (float) done / total;
+    }
+
+    @Override
+    public void dispose() {
+        decoder.dispose();
+
+        // Pages that were decoded but never handed to the AssetManager
+        disposeDecodedPages(critical);
+        disposeDecodedPages(speculative);
+    }
+
+    // == Private methods ==
+    private void start(Entry entry) {
+        entry.started = true;
+        entry.startMillis = TimeUtils.millis();
+
+        if (entry.descriptor.type == TextureAtlas.class && !assetManager.isLoaded(entry.descriptor.fileName)) {
+            decodePages(entry);
+        } else {
+            assetManager.load(entry.descriptor);
+        }
+    }
+
+    private void decodePages(Entry entry) {
+        FileHandle atlasFile = assetManager.getFileHandleResolver().resolve(entry.descriptor.fileName);
+        TextureAtlasData data = new TextureAtlasData(atlasFile, atlasFile.parent(), false);
+
+        for (final TextureAtlasData.Page page : data.getPages()) {
+            Page decoded = new Page(page);
+            decoded.result = decoder.submit(new AsyncTask<TextureData>() {
+                @Override
+                public TextureData call() {
+                    TextureData textureData = TextureData.Factory.loadFromFile(
+                            page.textureFile, page.format, page.useMipMaps);
+                    textureData.prepare();
+                    return textureData;
+                }
+            });
+            entry.pages.add(decoded);
+        }
+    }
+
+    private void advance(Array<Entry> entries) {
+        for (int i = 0; i < entries.size; ++i) {
+            Entry entry = entries.get(i);
+            if (!entry.started) continue;
+
+            if (entry.isDecoding() && entry.pollPages()) {
+                entry.decodedMillis = TimeUtils.millis();
+
+                // The atlas finds its pages already loaded and only adds a
+                // reference to them, which it releases when it is unloaded
+                for (Page page : entry.pages) {
+                    assetManager.load(page.fileName, Texture.class, page.getParameter());
+                }
+                assetManager.load(entry.descriptor);
+                entry.pagesQueued = true;
+            }
+
+            if (!entry.finished && entry.isLoaded()) {
+                entry.finished = true;
+
+                // Drop our own page references, the atlas holds its own
+                if (entry.pagesQueued) {
+                    for (Page page : entry.pages) {
+                        assetManager.unload(page.fileName);
+                    }
+                }
+                logTiming(entry);
+
+                if (entries == speculative) {
+                    speculative.removeIndex(i--);
+                }
+            }
+        }
+    }
+
+    private void logTiming(Entry entry) {
+        long now = TimeUtils.millis();
+        if (entry.pages.size > 0) {
+            LOG.debug(entry.descriptor.fileName + " loaded in " + (now - entry.startMillis) + " ms, "
+                    + entry.pages.size + " pages decoded in " + (entry.decodedMillis - entry.startMillis) + " ms");
+        } else {
+            LOG.debug(entry.descriptor.fileName + " loaded in " + (now - entry.startMillis) + " ms");
+        }
+    }
+
+    private static void disposeDecodedPages(Array<Entry> entries) {
+        for (Entry entry : entries) {
+            if (entry.pagesQueued) continue;
+
+            for (Page page : entry.pages) {
+                if (page.data == null && page.result != null && page.result.isDone()) {
+                    page.data = page.result.get();
+                }
+                if (page.data == null) continue;
+
+                if (page.data.getType() == TextureData.TextureDataType.Pixmap) {
+                    page.data.consumePixmap().dispose();
+                } else if (page.data instanceof KTXTextureData) {
+                    ((KTXTextureData) page.data).disposePreparedData();
+                }
+            }
+        }
+    }
+
+    // == Entry ==
+    private class Entry {
+
+        final AssetDescriptor<?> descriptor;
+        final Array<Page> pages = new Array<Page>();
+
+        boolean started;
+        boolean pagesQueued;
+        boolean finished;
+
+        long startMillis;
+        long decodedMillis;
+
+        Entry(AssetDescriptor<?> descriptor) {
+            this.descriptor = descriptor;
+        }
+
+        boolean isDecoding() {
+            return pages.size > 0 && !pagesQueued;
+        }
+
+        // True once every page is decoded
+        boolean pollPages() {
+            boolean decoded = true;
+            for (Page page : pages) {
+                if (page.data == null && page.result.isDone()) {
+                    page.data = page.result.get();
+                }
+                decoded &= page.data != null;
+            }
+            return decoded;
+        }
+
+        boolean isLoaded() {
+            return started && !isDecoding() && assetManager.isLoaded(descriptor.fileName, descriptor.type);
+        }
+
+        int getSteps() {
+            return pages.size + 1;
+        }
+
+        int getStepsDone() {
+            if (finished) return getSteps();
+
+            int done = 0;
+            for (Page page : pages) {
+                if (page.data != null) ++done;
+            }
+            return done;
+        }
+    }
+
+    // == Page ==
+    private static class Page {
+
+        final String fileName;
+        final TextureAtlasData.Page page;
+
+        AsyncResult<TextureData> result;
+        TextureData data;
+
+        Page(TextureAtlasData.Page page) {
+            this.page = page;
+            // Same name the TextureAtlasLoader gives its dependencies
+            this.fileName = page.textureFile.path().replaceAll("\\\\", "/");
+        }
+
+        TextureLoader.TextureParameter getParameter() {
+            TextureLoader.TextureParameter parameter = new TextureLoader.TextureParameter();
+            parameter.textureData = data;
+            parameter.format = page.format;
+            parameter.genMipMaps = page.useMipMaps;
+            parameter.minFilter = page.minFilter;
+            parameter.magFilter = page.magFilter;
+            parameter.wrapU = page.uWrap;
+            parameter.wrapV = page.vWrap;
+            return parameter;
+        }
+    }
+}
@@ -2,9 +2,25 @@ package com.fighter.assets;
 
 public class AssetPaths {
 
-    public static final String TEST_PLAYER = "gameplay/test-player.atlas";
     public static final String TEST_MAP = "map/test-map.atlas";
+    public static final String TEST_MAP_DEF = "map/test-map.json";
     public static final String TEST_FONT = "test.fnt";
+    public static final String CHARACTERS = "characters/characters.bin";
+
+    // Suffix of the ETC1 copy of an atlas, next to the PNG one
+    public static final String ETC1_SUFFIX = "-etc1";
+
+    private static final String CHARACTER_DIR = "characters/";
+    private static final String ATLAS_EXTENSION = ".atlas";
 
     private AssetPaths() {}
+
+    // Every character has its own atlas, named after it
+    public static String characterAtlas(String name) {
+        return CHARACTER_DIR + name + ATLAS_EXTENSION;
+    }
+
+    public static String characterEtc1Atlas(String name) {
+        return CHARACTER_DIR + name + ETC1_SUFFIX + ATLAS_EXTENSION;
+    }
 }
@@ -0,0 +1,207 @@
+package com.fighter.assets;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.glutils.KTXTextureData;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.Logger;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.fighter.entity.CharacterArchetype;
+import com.fighter.screen.game.CharacterAnimations;
+import com.fighter.utils.Etc1AlphaShader;
+
+/**
+ * The per-character asset bundles: each character's atlas and the
+ * animations built from it, loaded only while someone needs them.
+ * <p>
+ * Matches and menus {@link #acquire(String)} the characters they show and
+ * {@link #release(String)} them when done, and may {@link #prefetch(String)}
+ * the ones likely to be picked next. A resident bundle holds one
+ * AssetManager reference to its atlas. Released bundles stay resident
+ * for a quick reselect until the texture memory of all bundles exceeds
+ * the budget, then the least recently used ones are unloaded first.
+ * Bundles still in use are never evicted, even over budget.
+ */
+public class CharacterBundles implements Disposable {
+
+    // == Constants ==
+    private static final Logger LOG = new Logger(CharacterBundles.class.getName(), Logger.DEBUG);
+
+    // == Attributes ==
+    private final AssetManager assetManager;
+    private final AssetLoadingService assetLoader;
+    private final long budgetBytes;
+
+    private final ObjectMap<String, Bundle> bundles = new ObjectMap<String, Bundle>();
+    private long clock;
+
+    // ETC1 atlases need it to recover their alpha
+    private ShaderProgram etc1Shader;
+
+    // == Constructors ==
+    public CharacterBundles(AssetManager assetManager, AssetLoadingService assetLoader, long budgetBytes) {
+        this.assetManager = assetManager;
+        this.assetLoader = assetLoader;
+        this.budgetBytes = budgetBytes;
+    }
+
+    // == Public methods ==
+
+    /** Starts loading the character's bundle unless it is resident, and keeps it resident until released. */
+    public void acquire(String name) {
+        Bundle bundle = bundles.get(name);
+        if (bundle == null) {
+            bundle = new Bundle();
+            bundles.put(name, bundle);
+        }
+
+        if (bundle.atlas == null) {
+            bundle.atlas = AssetDescriptors.characterAtlas(name);
+            assetLoader.load(bundle.atlas, AssetLoadingService.Priority.CRITICAL);
+        }
+
+        ++bundle.references;
+        bundle.lastUsed = ++clock;
+
+        // Make room among the released bundles ahead of the new one
+        evict();
+    }
+
+    /**
+     * Starts loading the character's bundle once every critical asset is
+     * in, unless it is resident or loading already. Nothing holds it, so it
+     * is the first to go when the bundles are over budget.
+     */
+    public void prefetch(String name) {
+        Bundle bundle = bundles.get(name);
+        if (bundle == null) {
+            bundle = new Bundle();
+            bundles.put(name, bundle);
+        }
+
+        if (bundle.atlas == null) {
+            bundle.atlas = AssetDescriptors.characterAtlas(name);
+            assetLoader.load(bundle.atlas, AssetLoadingService.Priority.SPECULATIVE);
+        }
+    }
+
+    public void release(String name) {
+        Bundle bundle = bundles.get(name);
+        if (bundle == null || bundle.references == 0) {
+            throw new IllegalStateException("Character " + name + " was not acquired");
+        }
+
+        --bundle.references;
+        bundle.lastUsed = ++clock;
+
+        evict();
+    }
+
+    public boolean isLoaded(String name) {
+        Bundle bundle = bundles.get(name);
+        return bundle != null && bundle.atlas != null && assetManager.isLoaded(bundle.atlas.fileName);
+    }
+
+    // Needs the bundle to be loaded, see isLoaded()
+    public CharacterAnimations getAnimations(CharacterArchetype archetype) {
+        Bundle bundle = bundles.get(archetype.getName());
+        if (bundle == null || !isLoaded(archetype.getName())) {
+            throw new IllegalStateException("Character " + archetype.getName() + " is not loaded");
+        }
+
+        if (bundle.animations == null) {
+            TextureAtlas atlas = assetManager.get(bundle.atlas);
+            bundle.animations = new CharacterAnimations(archetype, atlas, isEtc1(atlas) ? getEtc1Shader() : null);
+        }
+        bundle.lastUsed = ++clock;
+        return bundle.animations;
+    }
+
+    /** Texture memory of the loaded bundles, in bytes. */
+    public long getResidentBytes() {
+        long bytes = 0;
+        for (ObjectMap.Entry<String, Bundle> entry : bundles) {
+            bytes += getTextureBytes(entry.key);
+        }
+        return bytes;
+    }
+
+    @Override
+    public void dispose() {
+        if (etc1Shader != null) {
+            etc1Shader.dispose();
+        }
+    }
+
+    // == Private methods ==
+    private void evict() {
+        long residentBytes = getResidentBytes();
+
+        while (residentBytes > budgetBytes) {
+            String victim = null;
+            long oldest = Long.MAX_VALUE;
+
+            for (ObjectMap.Entry<String, Bundle> entry : bundles) {
+                Bundle bundle = entry.value;
+                if (bundle.references == 0 && isLoaded(entry.key) && bundle.lastUsed < oldest) {
+                    victim = entry.key;
+                    oldest = bundle.lastUsed;
+                }
+            }
+
+            if (victim == null) return;
+
+            long bytes = getTextureBytes(victim);
+            unload(victim);
+            residentBytes -= bytes;
+
+            LOG.debug("Evicted " + victim + ", " + (bytes / 1024) + " KB, "
+                    + (residentBytes / 1024) + " KB still resident");
+        }
+    }
+
+    private void unload(String name) {
+        Bundle bundle = bundles.get(name);
+        assetManager.unload(bundle.atlas.fileName);
+        bundle.atlas = null;
+        bundle.animations = null;
+    }
+
+    private long getTextureBytes(String name) {
+        if (!isLoaded(name)) return 0;
+
+        long bytes = 0;
+        for (Texture texture : assetManager.get(bundles.get(name).atlas).getTextures()) {
+            long pixels = (long) texture.getWidth() * texture.getHeight();
+
+            // ETC1 takes half a byte per pixel, the PNG pages are RGBA8888
+            bytes += (texture.getTextureData() instanceof KTXTextureData) ? pixels / 2 : pixels * 4;
+        }
+        return bytes;
+    }
+
+    private static boolean isEtc1(TextureAtlas atlas) {
+        return atlas.getTextures().first().getTextureData() instanceof KTXTextureData;
+    }
+
+    private ShaderProgram getEtc1Shader() {
+        if (etc1Shader == null) {
+            etc1Shader = Etc1AlphaShader.create();
+        }
+        return etc1Shader;
+    }
+
+    // == Bundle ==
+    private static class Bundle {
+
+        // Null when not resident
+        AssetDescriptor<TextureAtlas> atlas;
+        CharacterAnimations animations;
+
+        int references;
+        long lastUsed;
+    }
+}
@@ -0,0 +1,45 @@
+package com.fighter.assets;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.assets.loaders.SynchronousAssetLoader;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.fighter.entity.CharacterRegistry;
+
+import java.io.IOException;
+
+/**
+ * Loads the compiled character definitions through the {@link AssetManager},
+ * which also disposes the shared physics shapes when they are unloaded.
+ */
+public class CharacterRegistryLoader
+        extends SynchronousAssetLoader<CharacterRegistry, CharacterRegistryLoader.Parameters> {
+
+    // == Constructors ==
+    public CharacterRegistryLoader(FileHandleResolver resolver) {
+        super(resolver);
+    }
+
+    // == Public methods ==
+    @Override
+    public CharacterRegistry load(AssetManager assetManager, String fileName, FileHandle file,
+                                  Parameters parameter) {
+        try {
+            return CharacterRegistry.read(file.read());
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Couldn't read characters: " + fileName, e);
+        }
+    }
+
+    @Override
+    public Array<AssetDescriptor> getDependencies(String fileName, FileHandle file, Parameters parameter) {
+        return null;
+    }
+
+    public static class Parameters extends AssetLoaderParameters<CharacterRegistry> {
+    }
+}
@@ -0,0 +1,43 @@
+package com.fighter.assets;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.assets.loaders.SynchronousAssetLoader;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.fighter.map.MapDef;
+
+import java.io.IOException;
+
+/**
+ * Loads a map file through the {@link AssetManager}, merging its solids
+ * while it is read.
+ */
+public class MapDefLoader extends SynchronousAssetLoader<MapDef, MapDefLoader.Parameters> {
+
+    // == Constructors ==
+    public MapDefLoader(FileHandleResolver resolver) {
+        super(resolver);
+    }
+
+    // == Public methods ==
+    @Override
+    public MapDef load(AssetManager assetManager, String fileName, FileHandle file, Parameters parameter) {
+        try {
+            return MapDef.read(file.read());
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Couldn't read map: " + fileName, e);
+        }
+    }
+
+    @Override
+    public Array<AssetDescriptor> getDependencies(String fileName, FileHandle file, Parameters parameter) {
+        return null;
+    }
+
+    public static class Parameters extends AssetLoaderParameters<MapDef> {
+    }
+}
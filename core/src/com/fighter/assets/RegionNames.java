@@ -2,37 +2,8 @@ package com.fighter.assets;
 
 public class RegionNames {
 
-    // == CharacterTest Atlas ==
-    public static final String TEST_LEFT_STAND = "test_left_stand";
-    public static final String TEST_RIGHT_STAND = "test_right_stand";
-
-    public static final String TEST_LEFT_WALK = "test_left_walk";
-    public static final String TEST_RIGHT_WALK = "test_right_walk";
-
-    public static final String TEST_LEFT_ATTACK = "test_left_attack";
-    public static final String TEST_RIGHT_ATTACK = "test_right_attack";
-
-    public static final String KNIGHT_IDLE_LEFT = "knight_idle_left";
-    public static final String KNIGHT_IDLE_RIGHT = "knight_idle_right";
-
-    public static final String KNIGHT_ATTACK1_LEFT = "knight_attack1_left";
-    public static final String KNIGHT_ATTACK1_RIGHT = "knight_attack1_right";
-
-    public static final String KNIGHT_RUN_LEFT = "knight_run_left";
-    public static final String KNIGHT_RUN_RIGHT = "knight_run_right";
-
-    public static final String KNIGHT_JUMP_LEFT = "knight_jump_left";
-    public static final String KNIGHT_JUMP_RIGHT = "knight_jump_right";
-    public static final String KNIGHT_JUMPSTART_RIGHT = "knight_jumpstart_right";
-    public static final String KNIGHT_JUMPSTART_LEFT = "knight_jumpstart_left";
-
-    public static final String KNIGHT_GUARD_RIGHT = "knight_guard_right";
-    public static final String KNIGHT_GUARD_LEFT = "knight_guard_left";
-
-    // == TestMap Atlas ==
-    public static final String TEST_BACKGROUND = "test_background";
-    public static final String TEST_TILE = "test_tile";
-    public static final String TEST_PLATFORM = "test_platform";
+    // Character regions are named in the character definitions, see desktop/assets-raw/characters,
+    // and map regions in the map files, see android/assets/map
 
     private RegionNames() {}
 }
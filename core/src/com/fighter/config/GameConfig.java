@@ -15,7 +15,24 @@ public class GameConfig {
     public static final float WORLD_CENTER_X = WORLD_WIDTH / 2; // World units
     public static final float WORLD_CENTER_Y = WORLD_HEIGHT / 2; // World units
 
-    public static final float IFRAME_DURATION = 300f; // milliseconds
+    public static final float GRAVITY = -25f; // World units per second squared
+
+    public static final float TIME_STEP = 1 / 60f; // Seconds per simulation tick
+    public static final int VELOCITY_ITERATIONS = 6;
+    public static final int POSITION_ITERATIONS = 2;
+    public static final int MAX_TICKS_PER_FRAME = 5; // Catch-up limit when frames are slow
+
+    // Stages are brought to life in chunks near the fighters and the camera,
+    // and released again once everyone is past the release range
+    public static final float STAGE_CHUNK_WIDTH = 16f; // World units
+    public static final float CHUNK_ACTIVATION_RANGE = 4f; // World units
+    public static final float CHUNK_RELEASE_RANGE = 8f; // World units
+
+    public static final int IFRAME_TICKS = 18; // 300 ms of invulnerability after a hit
+
+    public static final int AI_BUDGET_MICROS = 500; // AI thinking time per tick, shared by every AI
+
+    public static final long CHARACTER_TEXTURE_BUDGET = 8 * 1024 * 1024; // Bytes of character atlases kept loaded
 
     // == Constructors ==
     private GameConfig() {}
@@ -0,0 +1,64 @@
+package com.fighter.entity;
+
+/**
+ * Timing and region names of one character animation. The simulation only
+ * needs the timing, the renderer resolves the region names against an atlas.
+ */
+public class AnimationDef {
+
+    // == Attributes ==
+    private final String leftRegion;
+    private final String rightRegion;
+    private final float frameDuration;
+    private final int frameCount;
+    private final boolean looping;
+
+    // == Constructors ==
+    public AnimationDef(String leftRegion, String rightRegion,
+                        float frameDuration, int frameCount, boolean looping) {
+        this.leftRegion = leftRegion;
+        this.rightRegion = rightRegion;
+        this.frameDuration = frameDuration;
+        this.frameCount = frameCount;
+        this.looping = looping;
+    }
+
+    // == Public methods ==
+    public String getRegion(CharacterBase.Direction direction) {
+        return (direction == CharacterBase.Direction.LEFT) ? leftRegion : rightRegion;
+    }
+
+    public String getLeftRegion() {
+        return leftRegion;
+    }
+
+    public String getRightRegion() {
+        return rightRegion;
+    }
+
+    public float getFrameDuration() {
+        return frameDuration;
+    }
+
+    public int getFrameCount() {
+        return frameCount;
+    }
+
+    public boolean isLooping() {
+        return looping;
+    }
+
+    // Same frame arithmetic as Animation, so simulation and renderer agree
+    public int getKeyFrameIndex(float stateTime) {
+        int frameNumber = (int) (stateTime / frameDuration);
+
+        if (looping) return frameNumber % frameCount;
+
+        return Math.min(frameCount - 1, frameNumber);
+    }
+
+    public boolean isFinished(float stateTime) {
+        int frameNumber = (int) (stateTime / frameDuration);
+        return frameCount - 1 < frameNumber;
+    }
+}
@@ -0,0 +1,159 @@
+package com.fighter.entity;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Positions and velocities of dynamic bodies, read back from Box2D once per
+ * tick. Every Body getter and setter is a JNI call, and the character states
+ * read the velocity many times a tick, so they use this copy instead.
+ * <p>
+ * Writes update the copy right away, so later reads in the same tick see
+ * them as they would on the body, and reach Box2D in one call per body in
+ * {@link #flush()}. Call flush before every world step and
+ * {@link #readBack()} after it.
+ */
+public class BodyStateCache {
+
+    // == Constants ==
+    private static final int STRIDE = 4;
+    private static final int X = 0;
+    private static final int Y = 1;
+    private static final int VELOCITY_X = 2;
+    private static final int VELOCITY_Y = 3;
+
+    private static final int TRANSFORM_DIRTY = 1;
+    private static final int VELOCITY_DIRTY = 2;
+
+    // == Attributes ==
+    private final Array<Body> bodies = new Array<Body>();
+
+    // x, y, velocity x, velocity y of each body
+    private float[] state = new float[0];
+    private float[] inverseMass = new float[0];
+    private int[] dirty = new int[0];
+
+    // == Public methods ==
+
+    /**
+     * Starts tracking a dynamic body. Its fixtures and mass have to be final
+     * already, impulses are applied with the mass it has now.
+     *
+     * @return the index to read and write the body with
+     */
+    public int add(Body body) {
+        int index = bodies.size;
+        bodies.add(body);
+        ensureCapacity(bodies.size);
+
+        float mass = body.getMass();
+        inverseMass[index] = (mass > 0) ? 1f / mass : 0f;
+        dirty[index] = 0;
+        read(index);
+
+        return index;
+    }
+
+    public void readBack() {
+        for (int i = 0; i < bodies.size; ++i) {
+            read(i);
+        }
+    }
+
+    public void flush() {
+        for (int i = 0; i < bodies.size; ++i) {
+            int flags = dirty[i];
+            if (flags == 0) continue;
+
+            Body body = bodies.get(i);
+            int offset = i * STRIDE;
+
+            if ((flags & TRANSFORM_DIRTY) != 0) {
+                body.setTransform(state[offset + X], state[offset + Y], 0);
+            }
+            if ((flags & VELOCITY_DIRTY) != 0) {
+                body.setLinearVelocity(state[offset + VELOCITY_X], state[offset + VELOCITY_Y]);
+            }
+            dirty[i] = 0;
+        }
+    }
+
+    public float getX(int index) {
+        return state[index * STRIDE + X];
+    }
+
+    public float getY(int index) {
+        return state[index * STRIDE + Y];
+    }
+
+    public float getVelocityX(int index) {
+        return state[index * STRIDE + VELOCITY_X];
+    }
+
+    public float getVelocityY(int index) {
+        return state[index * STRIDE + VELOCITY_Y];
+    }
+
+    // Rotation is always 0, every tracked body has fixed rotation
+    public void setPosition(int index, float x, float y) {
+        int offset = index * STRIDE;
+        state[offset + X] = x;
+        state[offset + Y] = y;
+        dirty[index] |= TRANSFORM_DIRTY;
+    }
+
+    public void setVelocity(int index, float velocityX, float velocityY) {
+        int offset = index * STRIDE;
+        state[offset + VELOCITY_X] = velocityX;
+        state[offset + VELOCITY_Y] = velocityY;
+        dirty[index] |= VELOCITY_DIRTY;
+    }
+
+    /**
+     * Same arithmetic as Body.applyLinearImpulse on a body with fixed
+     * rotation, so the result is bit-identical to applying it directly.
+     */
+    public void applyImpulse(int index, float impulseX, float impulseY) {
+        int offset = index * STRIDE;
+        float invMass = inverseMass[index];
+        state[offset + VELOCITY_X] += invMass * impulseX;
+        state[offset + VELOCITY_Y] += invMass * impulseY;
+        dirty[index] |= VELOCITY_DIRTY;
+    }
+
+    public int size() {
+        return bodies.size;
+    }
+
+    // == Private methods ==
+    private void read(int index) {
+        Body body = bodies.get(index);
+        Vector2 position = body.getPosition();
+        Vector2 velocity = body.getLinearVelocity();
+
+        int offset = index * STRIDE;
+        state[offset + X] = position.x;
+        state[offset + Y] = position.y;
+        state[offset + VELOCITY_X] = velocity.x;
+        state[offset + VELOCITY_Y] = velocity.y;
+    }
+
+    private void ensureCapacity(int size) {
+        if (size <= dirty.length) return;
+
+        int capacity = Math.max(8, dirty.length * 2);
+
+        float[] newState = new float[capacity * STRIDE];
+        System.arraycopy(state, 0, newState, 0, state.length);
+        state = newState;
+
+        float[] newInverseMass = new float[capacity];
+        System.arraycopy(inverseMass, 0, newInverseMass, 0, inverseMass.length);
+        inverseMass = newInverseMass;
+
+        int[] newDirty = new int[capacity];
+        System.arraycopy(dirty, 0, newDirty, 0, dirty.length);
+        dirty = newDirty;
+    }
+}
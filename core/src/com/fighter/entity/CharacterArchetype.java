@@ -0,0 +1,241 @@
+package com.fighter.entity;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import com.badlogic.gdx.physics.box2d.FixtureDef;
+import com.badlogic.gdx.physics.box2d.PolygonShape;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.fighter.physics.CollisionMatrix;
+import com.fighter.physics.FixtureTag;
+
+/**
+ * Everything the characters of one type share: sprite and body size, the
+ * fixture definitions, animation timing, attack frame data and the default
+ * stats. Read once from the character data, see {@link CharacterRegistry},
+ * and used by every instance, so spawning a character only creates its body.
+ * <p>
+ * Box2D copies a shape into each fixture it creates and only reads the
+ * definitions, so the shapes are shared across worlds and threads.
+ */
+public class CharacterArchetype implements Disposable {
+
+    // == Constants ==
+    private static final float FOOT_HALF_HEIGHT = 0.03f;
+    private static final float FOOT_WIDTH_DIVISOR = 2.1f;
+    private static final float FOOT_DENSITY = 1.0f;
+
+    // == Attributes ==
+    private final String name;
+    private final CharacterStats defaultStats;
+
+    // Characters without guard frames ignore the guard input
+    private boolean canGuard = true;
+
+    private float spriteWidth;
+    private float spriteHeight;
+
+    // Physics body
+    private float width;
+    private float height;
+    private int maxJumps;
+
+    private final FixtureDef bodyFixtureDef = new FixtureDef();
+    private final FixtureDef footFixtureDef = new FixtureDef();
+
+    // Animations (timing only, the renderer resolves the regions)
+    private final Array<AnimationDef> animations = new Array<AnimationDef>();
+
+    private AnimationDef standAnimation;
+    private AnimationDef walkAnimation;
+    private AnimationDef attackAnimation;
+    private AnimationDef jumpAnimation;
+    private AnimationDef jumpstartAnimation;
+    private AnimationDef guardAnimation;
+
+    // Attack frame data, a thin blade from just inside the body out to the attack range
+    private int firstActiveFrame;
+    private int lastActiveFrame;
+    private float attackOffset;
+    private float attackThickness;
+
+    // Hitboxes for the default attack range, shared by every character using it
+    private final Array<HitboxDef> defaultHitboxes = new Array<HitboxDef>();
+
+    // == Constructors ==
+    public CharacterArchetype(String name, CharacterStats defaultStats) {
+        this.name = name;
+        this.defaultStats = new CharacterStats(defaultStats);
+    }
+
+    // == Definition ==
+    public void setSpriteSize(float width, float height) {
+        spriteWidth = width;
+        spriteHeight = height;
+    }
+
+    public void setBody(float width, float height, float density, float friction, float restitution) {
+        this.width = width;
+        this.height = height;
+
+        bodyFixtureDef.density = density;
+        bodyFixtureDef.friction = friction;
+        bodyFixtureDef.restitution = restitution;
+    }
+
+    public void setMaxJumps(int maxJumps) {
+        this.maxJumps = maxJumps;
+    }
+
+    public void setCanGuard(boolean canGuard) {
+        this.canGuard = canGuard;
+    }
+
+    public void setAttack(int firstActiveFrame, int lastActiveFrame, float offset, float thickness) {
+        this.firstActiveFrame = firstActiveFrame;
+        this.lastActiveFrame = lastActiveFrame;
+        this.attackOffset = offset;
+        this.attackThickness = thickness;
+    }
+
+    public AnimationDef addAnimation(String leftRegion, String rightRegion,
+                                     float frameDuration, int frameCount, boolean looping) {
+        AnimationDef animation = new AnimationDef(leftRegion, rightRegion, frameDuration, frameCount, looping);
+        animations.add(animation);
+        return animation;
+    }
+
+    public void setAnimations(AnimationDef stand, AnimationDef walk, AnimationDef attack,
+                              AnimationDef jump, AnimationDef jumpstart, AnimationDef guard) {
+        standAnimation = stand;
+        walkAnimation = walk;
+        attackAnimation = attack;
+        jumpAnimation = jump;
+        jumpstartAnimation = jumpstart;
+        guardAnimation = guard;
+    }
+
+    /**
+     * Creates the shared shapes and hitboxes. Call once the definition is
+     * complete and before the first character is created.
+     */
+    public CharacterArchetype build() {
+        Box2D.init();
+
+        PolygonShape bodyShape = new PolygonShape();
+        bodyShape.setAsBox(width / 2f, height / 2f);
+        bodyFixtureDef.shape = bodyShape;
+        CollisionMatrix.DEFAULT.apply(FixtureTag.BODY, bodyFixtureDef.filter);
+
+        PolygonShape footShape = new PolygonShape();
+        footShape.setAsBox(width / FOOT_WIDTH_DIVISOR, FOOT_HALF_HEIGHT,
+                new Vector2(0.0f, -height / 2f), 0.0f);
+        footFixtureDef.shape = footShape;
+        footFixtureDef.isSensor = true;
+        footFixtureDef.density = FOOT_DENSITY;
+        footFixtureDef.friction = bodyFixtureDef.friction;
+        footFixtureDef.restitution = bodyFixtureDef.restitution;
+        CollisionMatrix.DEFAULT.apply(FixtureTag.FOOT, footFixtureDef.filter);
+
+        addHitboxes(defaultHitboxes, defaultStats.attackRange);
+        return this;
+    }
+
+    // == Public methods ==
+    public CharacterBase create(World world, CharacterStateStore states, Vector2 position,
+                                CharacterStats stats) {
+        return new CharacterBase(world, states, this, position, stats);
+    }
+
+    // Shared unless the stats change the attack range
+    public Array<HitboxDef> getAttackHitboxes(CharacterStats stats) {
+        if (stats.attackRange == defaultStats.attackRange) return defaultHitboxes;
+
+        Array<HitboxDef> hitboxes = new Array<HitboxDef>();
+        addHitboxes(hitboxes, stats.attackRange);
+        return hitboxes;
+    }
+
+    // A new copy every call, free to modify
+    public CharacterStats getDefaultStats() {
+        return new CharacterStats(defaultStats);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean canGuard() {
+        return canGuard;
+    }
+
+    public float getSpriteWidth() {
+        return spriteWidth;
+    }
+
+    public float getSpriteHeight() {
+        return spriteHeight;
+    }
+
+    public float getWidth() {
+        return width;
+    }
+
+    public float getHeight() {
+        return height;
+    }
+
+    public int getMaxJumps() {
+        return maxJumps;
+    }
+
+    public FixtureDef getBodyFixtureDef() {
+        return bodyFixtureDef;
+    }
+
+    public FixtureDef getFootFixtureDef() {
+        return footFixtureDef;
+    }
+
+    public Array<AnimationDef> getAnimations() {
+        return animations;
+    }
+
+    public AnimationDef getStandAnimation() {
+        return standAnimation;
+    }
+
+    public AnimationDef getWalkAnimation() {
+        return walkAnimation;
+    }
+
+    public AnimationDef getAttackAnimation() {
+        return attackAnimation;
+    }
+
+    public AnimationDef getJumpAnimation() {
+        return jumpAnimation;
+    }
+
+    public AnimationDef getJumpstartAnimation() {
+        return jumpstartAnimation;
+    }
+
+    public AnimationDef getGuardAnimation() {
+        return guardAnimation;
+    }
+
+    @Override
+    public void dispose() {
+        if (bodyFixtureDef.shape != null) bodyFixtureDef.shape.dispose();
+        if (footFixtureDef.shape != null) footFixtureDef.shape.dispose();
+    }
+
+    // == Private methods ==
+    private void addHitboxes(Array<HitboxDef> hitboxes, float attackRange) {
+        hitboxes.add(new HitboxDef(firstActiveFrame, lastActiveFrame,
+                -width / 2f + attackOffset, attackRange,
+                -attackThickness / 2f, attackThickness / 2f));
+    }
+}
@@ -1,314 +1,426 @@
 package com.fighter.entity;
 
-import com.badlogic.gdx.ai.fsm.DefaultStateMachine;
 import com.badlogic.gdx.ai.fsm.State;
-import com.badlogic.gdx.ai.fsm.StateMachine;
 import com.badlogic.gdx.ai.msg.Telegram;
-import com.badlogic.gdx.assets.AssetManager;
-import com.badlogic.gdx.graphics.Camera;
-import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.g2d.Animation;
-import com.badlogic.gdx.graphics.g2d.Batch;
-import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.Body;
 import com.badlogic.gdx.physics.box2d.BodyDef;
 import com.badlogic.gdx.physics.box2d.Fixture;
-import com.badlogic.gdx.physics.box2d.FixtureDef;
-import com.badlogic.gdx.physics.box2d.PolygonShape;
-import com.badlogic.gdx.physics.box2d.RayCastCallback;
+import com.badlogic.gdx.physics.box2d.MassData;
 import com.badlogic.gdx.physics.box2d.World;
-import com.badlogic.gdx.scenes.scene2d.Actor;
-import com.badlogic.gdx.utils.Logger;
-import com.badlogic.gdx.utils.TimeUtils;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Bits;
 import com.fighter.config.GameConfig;
+import com.fighter.physics.FixtureTag;
 
-public abstract class CharacterBase extends Actor {
+/**
+ * A view over one character of a {@link CharacterStateStore}. The runtime
+ * state lives in the store, this keeps what is fixed at creation: the
+ * archetype, the stats and the Box2D body.
+ */
+public class CharacterBase {
 
     // == Constants ==
-    private final Logger LOG = new Logger(CharacterBase.class.getName(), Logger.DEBUG);
-
-    protected float SPRITE_HEIGHT;
-    protected float SPRITE_WIDTH;
-
-    protected float CHARACTER_DENSITY;
-    protected float CHARACTER_FRICTION;
-    protected float CHARACTER_RESTITUTION;
-    protected float CHARACTER_HEIGHT;
-    protected float CHARACTER_WIDTH;
-    protected float CHARACTER_SPEED;
-    protected float CHARACTER_DAMPING;
-
-    protected float ATTACK_RANGE;
-    protected int MAX_JUMPS;
-    protected float JUMP_FORCE;
+    protected final float CHARACTER_SPEED;
+    protected final int MAX_JUMPS;
+    protected final float JUMP_FORCE;
 
     // == Attributes ==
-    protected AssetManager assetManager;
+
+    // Shared by every character of this type
+    protected final CharacterArchetype archetype;
 
     // Stats
-    protected int health;
-    protected int currHealth;
-    protected int attack;
+    protected final CharacterStats stats;
 
     // Physics Body
-    protected BodyDef bodyDef;
     protected Body body;
-    protected FixtureDef fixtureDef;
     protected Fixture fixture;
     protected Fixture footFixture;
 
-    protected World world;
-
-    // States
-    protected StateMachine<CharacterBase, CharacterState> actionState;
-    protected Direction facing;
-
-    protected float stateTime;
-
-    // Animations
-    protected Animation<TextureRegion> leftStandAnimation;
-    protected Animation<TextureRegion> rightStandAnimation;
-    protected Animation<TextureRegion> leftWalkAnimation;
-    protected Animation<TextureRegion> rightWalkAnimation;
-    protected Animation<TextureRegion> leftAttackAnimation;
-    protected Animation<TextureRegion> rightAttackAnimation;
-    protected Animation<TextureRegion> leftJumpAnimation;
-    protected Animation<TextureRegion> rightJumpAnimation;
-    protected Animation<TextureRegion> leftJumpstartAnimation;
-    protected Animation<TextureRegion> rightJumpstartAnimation;
-    protected Animation<TextureRegion> rightGuardAnimation;
-    protected Animation<TextureRegion> leftGuardAnimation;
-
-    protected TextureRegion currentRegion;
-
-    protected RayCastCallback rayCastCallback;
+    // Position and velocity reads and writes go through the cache
+    protected final BodyStateCache bodies;
+    protected int bodyIndex;
 
-    public int numFootContacts;
+    // Everything else that changes during a match
+    protected final CharacterStateStore states;
+    protected int index;
 
-    protected int numOfJumps;
-    protected int entityNumber;
-
-    protected long lastHit = TimeUtils.millis();
-    protected Batch rayBatch;
+    // Attack frame data, from the archetype unless the stats change the range
+    protected final Array<HitboxDef> attackHitboxes;
 
+    // Characters already hit by the current swing, by simulation index
+    protected final Bits hitTargets = new Bits();
 
     // TODO Add Hit, and death animations
     // == Constructors ==
-    public CharacterBase(AssetManager assetManager, World world, Vector2 startPosition, int entityNumber) {
-        this.assetManager = assetManager;
-        this.world = world;
-        this.entityNumber = entityNumber;
-
-        actionState = new DefaultStateMachine<CharacterBase, CharacterState>(this, CharacterState.STANDING);
+    public CharacterBase(World world, CharacterStateStore states, CharacterArchetype archetype,
+                         Vector2 startPosition, CharacterStats stats) {
+        this.states = states;
+        this.bodies = states.getBodies();
+        this.archetype = archetype;
+        this.stats = stats;
 
-        stateTime = 0;
-        numFootContacts = 0;
-        numOfJumps = 0;
+        CHARACTER_SPEED = stats.speed;
+        MAX_JUMPS = archetype.getMaxJumps();
+        JUMP_FORCE = stats.jumpForce;
 
-        facing = Direction.RIGHT;
+        attackHitboxes = archetype.getAttackHitboxes(stats);
 
-        bodyDef = new BodyDef();
+        BodyDef bodyDef = new BodyDef();
         bodyDef.fixedRotation = true;
         bodyDef.type = BodyDef.BodyType.DynamicBody;
-        bodyDef.linearDamping = CHARACTER_DAMPING;
         bodyDef.position.set(startPosition.x, startPosition.y);
 
         body = world.createBody(bodyDef);
+        body.setUserData(this);
 
-        fixtureDef = new FixtureDef();
-        fixtureDef.filter.groupIndex = -2;
-
-        setRegions();
-        init();
+        fixture = body.createFixture(archetype.getBodyFixtureDef());
+        fixture.setUserData(FixtureTag.BODY);
 
-        createFootSensor();
+        footFixture = body.createFixture(archetype.getFootFixtureDef());
+        footFixture.setUserData(FixtureTag.FOOT);
 
-        setPosition(body.getPosition().x, body.getPosition().y);
-        setSize(SPRITE_WIDTH, SPRITE_HEIGHT);
+        centerMass();
 
-        currentRegion = rightStandAnimation.getKeyFrame(0f, true);
+        bodyIndex = bodies.add(body);
+        index = states.add(this, bodyIndex, stats.health, body.getLinearDamping());
     }
 
     // == Public methods ==
-    @Override
-    public void act(float delta) {
-        super.act(delta);
-        update(delta);
-    }
-
-    @Override
-    public void draw(Batch batch, float parentAlpha) {
-        float bodyX = body.getPosition().x - (SPRITE_WIDTH / 2f);
-        float bodyY = body.getPosition().y - (CHARACTER_HEIGHT / 2f);
 
-        rayBatch = batch;
-
-        batch.draw(currentRegion,
-                bodyX, bodyY,
-                getOriginX(), getOriginY(),
-                getWidth(), getHeight(),
-                getScaleX(), getScaleY(),
-                getRotation()
-        );
-    }
-
-    public void drawHealth(ShapeRenderer renderer, Camera textCamera, Camera camera) {
-        float healthPercent = (float) currHealth / health;
-
-        float ratew = textCamera.viewportWidth / camera.viewportWidth;
-        float rateh = textCamera.viewportHeight / camera.viewportHeight;
-
-        float x = textCamera.position.x - (camera.position.x - body.getPosition().x) * ratew;
-        float y = textCamera.position.y - (camera.position.y - body.getPosition().y) * rateh;
-
-        float healthX = x - 35f;
-        float healthY = y + 55f;
-        float healthWidth = 65f;
-        float healthHeight = 10f;
-
-        Color oldColor = renderer.getColor();
-
-        renderer.setProjectionMatrix(textCamera.combined);
-        renderer.begin(ShapeRenderer.ShapeType.Filled);
-
-        // Outline
-        renderer.setColor(Color.BLACK);
-        renderer.box(healthX - 1f, healthY - 1f, 0,
-                healthWidth + 2f, healthHeight + 2f, 0);
-
-        renderer.setColor(Color.RED);
-        renderer.box(healthX, healthY, 0,
-                healthWidth, healthHeight, 0);
-
-        renderer.setColor(Color.GREEN);
-        renderer.box(healthX, healthY, 0,
-                healthWidth * healthPercent, healthHeight, 0);
-
-        renderer.end();
-
-        renderer.setColor(oldColor);
+    // One character on its own, CharacterStateStore.update does all of them at once
+    public void update(float delta) {
+        states.advance(index, delta);
+        getCurrentState().update(this);
     }
 
     public void moveRight() {
-        actionState.changeState(CharacterState.MOVING_RIGHT);
+        changeState(CharacterState.MOVING_RIGHT);
     }
 
     public void moveLeft() {
-        actionState.changeState(CharacterState.MOVING_LEFT);
+        changeState(CharacterState.MOVING_LEFT);
     }
 
     public void jump() {
-        actionState.changeState(CharacterState.JUMPING);
+        changeState(CharacterState.JUMPING);
     }
 
     public void jumpLeft() {
-        actionState.changeState(CharacterState.JUMPING_LEFT);
+        changeState(CharacterState.JUMPING_LEFT);
     }
 
     public void jumpRight() {
-        actionState.changeState(CharacterState.JUMPING_RIGHT);
+        changeState(CharacterState.JUMPING_RIGHT);
     }
 
     public void attack() {
-        actionState.changeState(CharacterState.ATTACKING);
+        changeState(CharacterState.ATTACKING);
     }
 
     public void guard() {
-        actionState.changeState(CharacterState.GUARDING);
+        if (!archetype.canGuard()) return;
+
+        changeState(CharacterState.GUARDING);
     }
 
     public void stand() {
-        actionState.changeState(CharacterState.STANDING);
+        changeState(CharacterState.STANDING);
+    }
+
+    // Same order of events as a gdx-ai DefaultStateMachine
+    public void changeState(CharacterState state) {
+        CharacterState current = getCurrentState();
+        states.setStates(index, current, current);
+        current.exit(this);
+
+        states.setStates(index, state, current);
+        state.enter(this);
     }
 
     public void takeDamage(int damage, Direction knockback) {
-        if (TimeUtils.timeSinceMillis(lastHit) < GameConfig.IFRAME_DURATION) return;
+        if (states.getTicksSinceHit(index) < GameConfig.IFRAME_TICKS) return;
 
         int forceDirection = (knockback == Direction.RIGHT) ? 1 : -1;
-        currHealth -= (isGuarding()) ? damage / 2 : damage;
-        lastHit = TimeUtils.millis();
-
-        if (currHealth < 0) currHealth = 0;
+        int currHealth = getCurrentHealth() - ((isGuarding()) ? damage / 2 : damage);
+        states.setHealth(index, Math.max(currHealth, 0));
+        states.setTicksSinceHit(index, 0);
 
         if (isGuarding()) return;
 
-        actionState.changeState(CharacterState.KNOCKED_BACK);
+        changeState(CharacterState.KNOCKED_BACK);
 
         // TODO Apply force proportional to the damage taken
-        body.applyLinearImpulse(new Vector2(forceDirection * 0.15f, 0.25f), new Vector2(0, 0), true);
+        bodies.applyImpulse(bodyIndex, forceDirection * 0.15f, 0.25f);
     }
 
     public boolean isJumping() {
-        return numFootContacts < 1;
+        return getFootContacts() < 1;
     }
 
     public boolean isGuarding() {
-        return actionState.getCurrentState() == CharacterState.GUARDING;
+        return getCurrentState() == CharacterState.GUARDING;
     }
 
     public boolean isAttacking() {
-        return actionState.getCurrentState() == CharacterState.ATTACKING;
+        return getCurrentState() == CharacterState.ATTACKING;
     }
 
     public boolean inAir() {
-        return body.getLinearVelocity().y > 0 || numFootContacts < 1;
+        return bodies.getVelocityY(bodyIndex) > 0 || getFootContacts() < 1;
     }
 
     public boolean isFalling() {
-        return actionState.getCurrentState() == CharacterState.FALLING;
+        return getCurrentState() == CharacterState.FALLING;
     }
 
     public boolean isKnockedBack() {
-        return actionState.getCurrentState() == CharacterState.KNOCKED_BACK;
+        return getCurrentState() == CharacterState.KNOCKED_BACK;
+    }
+
+    // Index of the body in the BodyStateCache the character was created with
+    public int getBodyIndex() {
+        return bodyIndex;
+    }
+
+    // Index of the character in its CharacterStateStore
+    public int getIndex() {
+        return index;
     }
 
-    // == Abstract methods ==
-    abstract void setRegions();
+    public float getX() {
+        return bodies.getX(bodyIndex);
+    }
 
-    abstract void attackRaycast();
+    public float getY() {
+        return bodies.getY(bodyIndex);
+    }
 
-    abstract void init();
+    public float getVelocityX() {
+        return bodies.getVelocityX(bodyIndex);
+    }
 
-    // == Private methods ==
-    private void update(float delta) {
-        stateTime += delta;
-        actionState.update();
-        setPosition(body.getPosition().x, body.getPosition().y);
+    public float getVelocityY() {
+        return bodies.getVelocityY(bodyIndex);
+    }
+
+    public float getPreviousX() {
+        return states.getPreviousX(index);
+    }
+
+    public float getPreviousY() {
+        return states.getPreviousY(index);
     }
 
-    private void createFootSensor() {
-        Vector2 center = new Vector2(0.0f, -CHARACTER_HEIGHT / 2f);
-        PolygonShape footShape = new PolygonShape();
+    public float getSpriteWidth() {
+        return archetype.getSpriteWidth();
+    }
 
-        footShape.setAsBox(CHARACTER_WIDTH / 2.1f, 0.03f, center, 0.0f);
+    public float getSpriteHeight() {
+        return archetype.getSpriteHeight();
+    }
 
-        fixtureDef.isSensor = true;
-        fixtureDef.shape = footShape;
-        fixtureDef.density = 1.0f;
+    public float getCharacterHeight() {
+        return archetype.getHeight();
+    }
 
-        footFixture = body.createFixture(fixtureDef);
-        footFixture.setUserData(entityNumber);
+    public int getHealth() {
+        return stats.health;
+    }
 
-        footShape.dispose();
+    public int getCurrentHealth() {
+        return states.getHealth(index);
     }
 
-    class MyRaycastCallback implements RayCastCallback {
-        @Override
-        public float reportRayFixture(Fixture fixture, Vector2 vector2, Vector2 vector21, float v) {
-            if (fixture.getUserData() instanceof CharacterBase) {
-                CharacterBase hitObject = (CharacterBase) fixture.getUserData();
+    public float getStateTime() {
+        return states.getStateTime(index);
+    }
+
+    public Direction getFacing() {
+        return states.getFacing(index);
+    }
+
+    public CharacterState getCurrentState() {
+        return states.getState(index);
+    }
+
+    public CharacterState getPreviousState() {
+        return states.getPreviousState(index);
+    }
+
+    public int getFootContacts() {
+        return states.getFootContacts(index);
+    }
+
+    // Called from the contact listener as the foot sensor touches and leaves the stage
+    public void addFootContacts(int delta) {
+        states.setFootContacts(index, states.getFootContacts(index) + delta);
+    }
+
+    public void setFootContacts(int contacts) {
+        states.setFootContacts(index, contacts);
+    }
+
+    public Body getBody() {
+        return body;
+    }
+
+    public CharacterArchetype getArchetype() {
+        return archetype;
+    }
+
+    public Array<AnimationDef> getAnimations() {
+        return archetype.getAnimations();
+    }
+
+    public Array<HitboxDef> getAttackHitboxes() {
+        return attackHitboxes;
+    }
 
-                Direction damageDirection = (facing == Direction.RIGHT) ? Direction.RIGHT : Direction.LEFT;
-                hitObject.takeDamage(attack, damageDirection);
+    public int getAttackFrameIndex() {
+        return archetype.getAttackAnimation().getKeyFrameIndex(getStateTime());
+    }
+
+    public Bits getHitTargets() {
+        return hitTargets;
+    }
+
+    public int getAttack() {
+        return stats.attack;
+    }
+
+    public float getCharacterWidth() {
+        return archetype.getWidth();
+    }
+
+    public void save(CharacterSnapshot snapshot) {
+        snapshot.x = getX();
+        snapshot.y = getY();
+        snapshot.velocityX = getVelocityX();
+        snapshot.velocityY = getVelocityY();
+        snapshot.linearDamping = states.getLinearDamping(index);
+
+        snapshot.previousX = getPreviousX();
+        snapshot.previousY = getPreviousY();
+
+        snapshot.state = getCurrentState();
+        snapshot.previousState = getPreviousState();
+        snapshot.facing = getFacing();
+        snapshot.stateTime = getStateTime();
+
+        snapshot.currHealth = getCurrentHealth();
+        snapshot.numOfJumps = states.getJumps(index);
+        snapshot.numFootContacts = getFootContacts();
+        snapshot.ticksSinceHit = states.getTicksSinceHit(index);
+
+        snapshot.hitTargets.clear();
+        snapshot.hitTargets.or(hitTargets);
+    }
+
+    /**
+     * Puts the character back to a saved tick. The foot contacts are left
+     * alone, they follow Box2D's contact state and the simulation has to
+     * resync that first.
+     */
+    public void restore(CharacterSnapshot snapshot) {
+        bodies.setPosition(bodyIndex, snapshot.x, snapshot.y);
+        bodies.setVelocity(bodyIndex, snapshot.velocityX, snapshot.velocityY);
+        setLinearDamping(snapshot.linearDamping);
+
+        states.setPrevious(index, snapshot.previousX, snapshot.previousY);
+
+        states.setStates(index, snapshot.state, snapshot.previousState);
+        states.setFacing(index, snapshot.facing);
+        states.setStateTime(index, snapshot.stateTime);
+
+        states.setHealth(index, snapshot.currHealth);
+        states.setJumps(index, snapshot.numOfJumps);
+        states.setTicksSinceHit(index, snapshot.ticksSinceHit);
+
+        hitTargets.clear();
+        hitTargets.or(snapshot.hitTargets);
+    }
+
+    /**
+     * Mixes everything the simulation reads back from this character into
+     * the given hash. Two deterministic runs agree on it bit for bit.
+     */
+    public int hashState(int hash) {
+        hash = 31 * hash + Float.floatToIntBits(getX());
+        hash = 31 * hash + Float.floatToIntBits(getY());
+        hash = 31 * hash + Float.floatToIntBits(getVelocityX());
+        hash = 31 * hash + Float.floatToIntBits(getVelocityY());
+        hash = 31 * hash + Float.floatToIntBits(states.getLinearDamping(index));
+        hash = 31 * hash + Float.floatToIntBits(getStateTime());
+        hash = 31 * hash + getCurrentState().ordinal();
+        hash = 31 * hash + getFacing().ordinal();
+        hash = 31 * hash + getCurrentHealth();
+        hash = 31 * hash + getFootContacts();
+        hash = 31 * hash + states.getJumps(index);
+        hash = 31 * hash + states.getTicksSinceHit(index);
+        hash = 31 * hash + hashBits(hitTargets);
+        return hash;
+    }
+
+    // == Protected methods ==
+    protected void setVelocity(float velocityX, float velocityY) {
+        bodies.setVelocity(bodyIndex, velocityX, velocityY);
+    }
+
+    protected void setLinearDamping(float damping) {
+        if (damping == states.getLinearDamping(index)) return;
+
+        states.setLinearDamping(index, damping);
+        body.setLinearDamping(damping);
+    }
+
+    protected void setStateTime(float time) {
+        states.setStateTime(index, time);
+    }
+
+    protected void setFacing(Direction direction) {
+        states.setFacing(index, direction);
+    }
+
+    protected int getJumps() {
+        return states.getJumps(index);
+    }
+
+    protected void setJumps(int jumps) {
+        states.setJumps(index, jumps);
+    }
+
+    // == Private methods ==
+    // The foot sensor has mass and would pull the center of mass off the body
+    // origin. Rotation is fixed so it makes no difference to the physics, but
+    // with it on the origin a saved position goes through setTransform exactly.
+    private void centerMass() {
+        MassData massData = body.getMassData();
+        massData.center.setZero();
+        body.setMassData(massData);
+    }
+
+    // Same as Bits.hashCode, which reads past its words when the highest set
+    // bit is the last of one, as when the 128th fighter gets hit
+    private static int hashBits(Bits bits) {
+        int lastWord = bits.length() >>> 6;
+        int bit = bits.nextSetBit(0);
+        int hash = 0;
+
+        for (int word = 0; word <= lastWord; ++word) {
+            long value = 0;
+            while (bit >= 0 && (bit >>> 6) == word) {
+                value |= 1L << (bit & 63);
+                bit = bits.nextSetBit(bit + 1);
             }
-            return 1f;
+            hash = 127 * hash + (int) (value ^ (value >>> 32));
         }
+        return hash;
     }
 
     // == Enums ==
-    enum Direction {
+    public enum Direction {
         LEFT,
         RIGHT
     }
@@ -319,32 +431,34 @@ public abstract class CharacterBase extends Actor {
             @Override
             public void update(CharacterBase C) {
                 if (C.inAir())
-                    C.actionState.changeState(FALLING);
-
-                C.currentRegion = (C.facing == Direction.RIGHT) ?
-                        C.rightStandAnimation.getKeyFrame(C.stateTime, true) :
-                        C.leftStandAnimation.getKeyFrame(C.stateTime, true);
+                    C.changeState(FALLING);
             }
 
             @Override
             public void enter(CharacterBase C) {
-                if (C.actionState.getPreviousState() != STANDING) {
-                    C.stateTime = 0f;
-                    C.numOfJumps = 0;
-                    C.body.setLinearVelocity(0, C.body.getLinearVelocity().y);
+                if (C.getPreviousState() != STANDING) {
+                    C.setStateTime(0f);
+                    C.setJumps(0);
+                    C.setVelocity(0, C.getVelocityY());
                 }
             }
+
+            @Override
+            public AnimationDef getAnimation(CharacterBase C) {
+                return C.archetype.getStandAnimation();
+            }
         },
 
         FALLING() {
             @Override
             public void update(CharacterBase C) {
                 if (!C.inAir())
-                    C.actionState.changeState(STANDING);
+                    C.changeState(STANDING);
+            }
 
-                C.currentRegion = (C.facing == Direction.LEFT) ?
-                        C.leftJumpAnimation.getKeyFrame(C.stateTime, true) :
-                        C.rightJumpAnimation.getKeyFrame(C.stateTime, true);
+            @Override
+            public AnimationDef getAnimation(CharacterBase C) {
+                return C.archetype.getJumpAnimation();
             }
         },
 
@@ -352,143 +466,167 @@ public abstract class CharacterBase extends Actor {
             @Override
             public void update(CharacterBase C) {
                 if (!C.inAir())
-                    C.actionState.changeState(STANDING);
-
-                C.currentRegion = (C.facing == Direction.LEFT) ?
-                        C.leftJumpAnimation.getKeyFrame(C.stateTime, true) :
-                        C.rightJumpAnimation.getKeyFrame(C.stateTime, true);
+                    C.changeState(STANDING);
             }
 
             @Override
             public void enter(CharacterBase C) {
-                if (!C.isJumping() || C.numOfJumps < C.MAX_JUMPS) {
-                    C.stateTime = 0f;
-                    ++C.numOfJumps;
-                    C.body.setLinearVelocity(C.body.getLinearVelocity().x, C.JUMP_FORCE);
+                if (!C.isJumping() || C.getJumps() < C.MAX_JUMPS) {
+                    C.setStateTime(0f);
+                    C.setJumps(C.getJumps() + 1);
+                    C.setVelocity(C.getVelocityX(), C.JUMP_FORCE);
                 }
             }
+
+            @Override
+            public AnimationDef getAnimation(CharacterBase C) {
+                return C.archetype.getJumpAnimation();
+            }
         },
 
         MOVING_LEFT() {
             @Override
             public void update(CharacterBase C) {
-                C.currentRegion = C.leftWalkAnimation.getKeyFrame(C.stateTime, true);
-                C.facing = Direction.LEFT;
+                C.setFacing(Direction.LEFT);
             }
 
             @Override
             public void enter(CharacterBase C) {
-                if (C.actionState.getPreviousState() != MOVING_LEFT) {
-                    C.stateTime = 0f;
+                if (C.getPreviousState() != MOVING_LEFT) {
+                    C.setStateTime(0f);
                 }
-                C.body.setLinearVelocity(-C.CHARACTER_SPEED, C.body.getLinearVelocity().y);
+                C.setVelocity(-C.CHARACTER_SPEED, C.getVelocityY());
             }
 
             @Override
             public void exit(CharacterBase C) {
-                C.body.setLinearVelocity(0, C.body.getLinearVelocity().y);
+                C.setVelocity(0, C.getVelocityY());
+            }
+
+            @Override
+            public AnimationDef getAnimation(CharacterBase C) {
+                return C.archetype.getWalkAnimation();
             }
         },
 
         MOVING_RIGHT() {
             @Override
             public void update(CharacterBase C) {
-                C.currentRegion = C.rightWalkAnimation.getKeyFrame(C.stateTime, true);
-                C.facing = Direction.RIGHT;
+                C.setFacing(Direction.RIGHT);
             }
 
             @Override
             public void enter(CharacterBase C) {
-                if (C.actionState.getPreviousState() != MOVING_RIGHT) {
-                    C.stateTime = 0f;
+                if (C.getPreviousState() != MOVING_RIGHT) {
+                    C.setStateTime(0f);
                 }
-                C.body.setLinearVelocity(C.CHARACTER_SPEED, C.body.getLinearVelocity().y);
+                C.setVelocity(C.CHARACTER_SPEED, C.getVelocityY());
             }
 
             @Override
             public void exit(CharacterBase C) {
-                C.body.setLinearVelocity(0, C.body.getLinearVelocity().y);
+                C.setVelocity(0, C.getVelocityY());
+            }
+
+            @Override
+            public AnimationDef getAnimation(CharacterBase C) {
+                return C.archetype.getWalkAnimation();
             }
         },
 
         ATTACKING() {
             @Override
             public void update(CharacterBase C) {
-                if (!C.inAir()) C.body.setLinearVelocity(0, C.body.getLinearVelocity().y);
+                if (!C.inAir()) C.setVelocity(0, C.getVelocityY());
 
-                C.currentRegion = (C.facing == Direction.LEFT) ?
-                        C.leftAttackAnimation.getKeyFrame(C.stateTime) :
-                        C.rightAttackAnimation.getKeyFrame(C.stateTime);
+                if (C.archetype.getAttackAnimation().isFinished(C.getStateTime())) {
+                    C.changeState(STANDING);
+                }
+            }
 
-                C.attackRaycast();
+            @Override
+            public void enter(CharacterBase C) {
+                super.enter(C);
 
-                if (C.leftAttackAnimation.isAnimationFinished(C.stateTime)) {
-                    C.actionState.changeState(STANDING);
+                // A new swing can hit everyone again
+                if (C.getPreviousState() != ATTACKING) {
+                    C.hitTargets.clear();
                 }
             }
+
+            @Override
+            public AnimationDef getAnimation(CharacterBase C) {
+                return C.archetype.getAttackAnimation();
+            }
         },
 
         GUARDING() {
             @Override
-            public void update(CharacterBase C) {
-                C.currentRegion = (C.facing == Direction.RIGHT) ?
-                        C.rightGuardAnimation.getKeyFrame(C.stateTime, true) :
-                        C.leftGuardAnimation.getKeyFrame(C.stateTime, true);
+            public AnimationDef getAnimation(CharacterBase C) {
+                return C.archetype.getGuardAnimation();
             }
         },
 
         KNOCKED_BACK() {
             @Override
             public void update(CharacterBase C) {
-                C.body.setLinearDamping(7f);
+                C.setLinearDamping(7f);
 
-                if (!C.isJumping() && Math.abs(C.body.getLinearVelocity().x) <= 0.1f)
-                    C.actionState.changeState(STANDING);
+                if (!C.isJumping() && Math.abs(C.getVelocityX()) <= 0.1f)
+                    C.changeState(STANDING);
 
                 //TODO Add hit animation here
             }
 
             @Override
             public void enter(CharacterBase C) {
-                C.body.setLinearVelocity(0, 0);
+                C.setVelocity(0, 0);
             }
 
             @Override
             public void exit(CharacterBase C) {
-                C.body.setLinearDamping(0.0f);
+                C.setLinearDamping(0.0f);
             }
         },
 
         JUMPING_LEFT() {
             @Override
             public void update(CharacterBase C) {
-                C.currentRegion = C.leftJumpAnimation.getKeyFrame(C.stateTime, true);
-                C.facing = Direction.LEFT;
+                C.setFacing(Direction.LEFT);
             }
 
             @Override
             public void enter(CharacterBase C) {
-                C.body.setLinearVelocity(-C.CHARACTER_SPEED, C.body.getLinearVelocity().y);
+                C.setVelocity(-C.CHARACTER_SPEED, C.getVelocityY());
+            }
+
+            @Override
+            public AnimationDef getAnimation(CharacterBase C) {
+                return C.archetype.getJumpAnimation();
             }
         },
 
         JUMPING_RIGHT() {
             @Override
             public void update(CharacterBase C) {
-                C.currentRegion = C.rightJumpAnimation.getKeyFrame(C.stateTime, true);
-                C.facing = Direction.RIGHT;
+                C.setFacing(Direction.RIGHT);
             }
 
             @Override
             public void enter(CharacterBase C) {
-                C.body.setLinearVelocity(C.CHARACTER_SPEED, C.body.getLinearVelocity().y);
+                C.setVelocity(C.CHARACTER_SPEED, C.getVelocityY());
+            }
+
+            @Override
+            public AnimationDef getAnimation(CharacterBase C) {
+                return C.archetype.getJumpAnimation();
             }
         };
 
         @Override
         public void enter(CharacterBase characterBase) {
-            if (characterBase.actionState.getCurrentState() != characterBase.actionState.getPreviousState()) {
-                characterBase.stateTime = 0f;
+            if (characterBase.getCurrentState() != characterBase.getPreviousState()) {
+                characterBase.setStateTime(0f);
             }
         }
 
@@ -506,5 +644,13 @@ public abstract class CharacterBase extends Actor {
         public boolean onMessage(CharacterBase characterBase, Telegram telegram) {
             return false;
         }
+
+        /**
+         * Animation the renderer should show in this state, facing the
+         * character's current direction. Null keeps the last shown frame.
+         */
+        public AnimationDef getAnimation(CharacterBase characterBase) {
+            return null;
+        }
     }
 }
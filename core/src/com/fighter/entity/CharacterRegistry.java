@@ -0,0 +1,135 @@
+package com.fighter.entity;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectMap;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Every playable character, read from the binary file the desktop
+ * CharacterCompiler builds out of the JSON definitions. Reading is a straight
+ * run of primitive reads, no parsing or reflection, so it stays fast however
+ * many fighters there are.
+ * <p>
+ * Format, all big endian as written by DataOutputStream:
+ * <pre>
+ * int magic, short version, short characterCount, then per character:
+ *   UTF name, boolean canGuard
+ *   int health, int attack, float speed, float jumpForce, float attackRange
+ *   float spriteWidth, float spriteHeight
+ *   float width, float height, float density, float friction, float restitution
+ *   byte maxJumps
+ *   short firstActiveFrame, short lastActiveFrame, float attackOffset, float attackThickness
+ *   byte animationCount, then per animation:
+ *     UTF leftRegion, UTF rightRegion, float frameDuration, short frameCount, boolean looping
+ *   byte stand, walk, attack, jump, jumpstart, guard (animation indices)
+ * </pre>
+ */
+public class CharacterRegistry implements Disposable {
+
+    // == Constants ==
+    public static final int MAGIC = 0x46434852; // "FCHR"
+    public static final short VERSION = 1;
+
+    public static final int ANIMATION_SLOTS = 6;
+
+    // == Attributes ==
+    private final Array<CharacterArchetype> archetypes = new Array<CharacterArchetype>();
+    private final ObjectMap<String, CharacterArchetype> archetypesByName = new ObjectMap<String, CharacterArchetype>();
+
+    // == Constructors ==
+    private CharacterRegistry() {
+    }
+
+    // == Public methods ==
+
+    /**
+     * Reads and builds every character in the stream, then closes it.
+     */
+    public static CharacterRegistry read(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+
+        try {
+            if (in.readInt() != MAGIC) throw new IOException("Not a character file");
+
+            short version = in.readShort();
+            if (version != VERSION) {
+                throw new IOException("Character file version " + version + ", expected " + VERSION);
+            }
+
+            CharacterRegistry registry = new CharacterRegistry();
+            int count = in.readShort();
+
+            for (int i = 0; i < count; ++i) {
+                CharacterArchetype archetype = readArchetype(in);
+                registry.archetypes.add(archetype);
+                registry.archetypesByName.put(archetype.getName(), archetype);
+            }
+            return registry;
+        } finally {
+            in.close();
+        }
+    }
+
+    public CharacterArchetype get(String name) {
+        CharacterArchetype archetype = archetypesByName.get(name);
+        if (archetype == null) throw new GdxRuntimeException("Unknown character: " + name);
+
+        return archetype;
+    }
+
+    public CharacterArchetype get(int index) {
+        return archetypes.get(index);
+    }
+
+    public int size() {
+        return archetypes.size;
+    }
+
+    public Array<CharacterArchetype> getArchetypes() {
+        return archetypes;
+    }
+
+    @Override
+    public void dispose() {
+        for (CharacterArchetype archetype : archetypes) {
+            archetype.dispose();
+        }
+    }
+
+    // == Private methods ==
+    private static CharacterArchetype readArchetype(DataInputStream in) throws IOException {
+        String name = in.readUTF();
+        boolean canGuard = in.readBoolean();
+
+        CharacterStats stats = new CharacterStats(in.readInt(), in.readInt(),
+                in.readFloat(), in.readFloat(), in.readFloat());
+
+        CharacterArchetype archetype = new CharacterArchetype(name, stats);
+        archetype.setCanGuard(canGuard);
+        archetype.setSpriteSize(in.readFloat(), in.readFloat());
+        archetype.setBody(in.readFloat(), in.readFloat(), in.readFloat(), in.readFloat(), in.readFloat());
+        archetype.setMaxJumps(in.readByte());
+        archetype.setAttack(in.readShort(), in.readShort(), in.readFloat(), in.readFloat());
+
+        int animationCount = in.readByte();
+        AnimationDef[] animations = new AnimationDef[animationCount];
+        for (int i = 0; i < animationCount; ++i) {
+            animations[i] = archetype.addAnimation(in.readUTF(), in.readUTF(),
+                    in.readFloat(), in.readShort(), in.readBoolean());
+        }
+
+        AnimationDef[] slots = new AnimationDef[ANIMATION_SLOTS];
+        for (int i = 0; i < ANIMATION_SLOTS; ++i) {
+            slots[i] = animations[in.readByte()];
+        }
+        archetype.setAnimations(slots[0], slots[1], slots[2], slots[3], slots[4], slots[5]);
+
+        return archetype.build();
+    }
+}
@@ -0,0 +1,38 @@
+package com.fighter.entity;
+
+import com.badlogic.gdx.utils.Bits;
+
+/**
+ * Everything needed to put a {@link Player} and its character back to an
+ * earlier tick. Preallocated and overwritten in place, so saving and
+ * restoring does not allocate.
+ */
+public class CharacterSnapshot {
+
+    // Body
+    public float x;
+    public float y;
+    public float velocityX;
+    public float velocityY;
+    public float linearDamping;
+
+    public float previousX;
+    public float previousY;
+
+    // Character
+    public CharacterBase.CharacterState state;
+    public CharacterBase.CharacterState previousState;
+    public CharacterBase.Direction facing;
+    public float stateTime;
+
+    public int currHealth;
+    public int numOfJumps;
+    public int numFootContacts;
+    public int ticksSinceHit;
+
+    public final Bits hitTargets = new Bits();
+
+    // Controller
+    public Player.InputState inputState;
+    public Player.InputState previousInputState;
+}
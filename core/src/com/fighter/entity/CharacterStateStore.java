@@ -0,0 +1,234 @@
+package com.fighter.entity;
+
+import com.badlogic.gdx.utils.Array;
+import com.fighter.config.GameConfig;
+
+/**
+ * Runtime state of every character of a match, in parallel primitive arrays
+ * indexed by the order the characters were created in. A
+ * {@link CharacterBase} only keeps its index and reads and writes through
+ * here, so a tick walks a few flat arrays instead of chasing a state
+ * machine and a dozen fields per character.
+ * <p>
+ * States and directions are kept as their ordinals.
+ */
+public class CharacterStateStore {
+
+    // == Constants ==
+    private static final CharacterBase.CharacterState[] STATES = CharacterBase.CharacterState.values();
+    private static final CharacterBase.Direction[] DIRECTIONS = CharacterBase.Direction.values();
+
+    // == Attributes ==
+    private final BodyStateCache bodies;
+    private final Array<CharacterBase> characters = new Array<CharacterBase>();
+
+    private int[] bodyIndex = new int[0];
+
+    private int[] state = new int[0];
+    private int[] previousState = new int[0];
+    private float[] stateTime = new float[0];
+
+    private int[] health = new int[0];
+    private int[] jumps = new int[0];
+    private int[] footContacts = new int[0];
+    private int[] facing = new int[0];
+    private int[] ticksSinceHit = new int[0];
+
+    // Mirrors the body, so the damping is only written when it changes
+    private float[] linearDamping = new float[0];
+
+    // Position before the last world step, used for render interpolation
+    private float[] previousX = new float[0];
+    private float[] previousY = new float[0];
+
+    // == Constructors ==
+    public CharacterStateStore(BodyStateCache bodies) {
+        this.bodies = bodies;
+    }
+
+    public CharacterStateStore() {
+        this(new BodyStateCache());
+    }
+
+    // == Public methods ==
+
+    /**
+     * Advances the timers of every character, then runs the update of its
+     * current state. Characters only touch each other through hits, which
+     * land after this, so the order they update in doesn't matter.
+     */
+    public void update(float delta) {
+        for (int i = 0; i < characters.size; ++i) {
+            advance(i, delta);
+        }
+
+        for (int i = 0; i < characters.size; ++i) {
+            STATES[state[i]].update(characters.get(i));
+        }
+    }
+
+    public BodyStateCache getBodies() {
+        return bodies;
+    }
+
+    public int size() {
+        return characters.size;
+    }
+
+    public CharacterBase getCharacter(int index) {
+        return characters.get(index);
+    }
+
+    public CharacterBase.CharacterState getState(int index) {
+        return STATES[state[index]];
+    }
+
+    public CharacterBase.CharacterState getPreviousState(int index) {
+        return STATES[previousState[index]];
+    }
+
+    public float getStateTime(int index) {
+        return stateTime[index];
+    }
+
+    public int getHealth(int index) {
+        return health[index];
+    }
+
+    public int getJumps(int index) {
+        return jumps[index];
+    }
+
+    public int getFootContacts(int index) {
+        return footContacts[index];
+    }
+
+    public CharacterBase.Direction getFacing(int index) {
+        return DIRECTIONS[facing[index]];
+    }
+
+    public int getTicksSinceHit(int index) {
+        return ticksSinceHit[index];
+    }
+
+    public float getLinearDamping(int index) {
+        return linearDamping[index];
+    }
+
+    public float getPreviousX(int index) {
+        return previousX[index];
+    }
+
+    public float getPreviousY(int index) {
+        return previousY[index];
+    }
+
+    // == Package-private methods ==
+
+    /**
+     * Starts storing a character whose body is already in the cache.
+     *
+     * @return the index the character reads and writes its state with
+     */
+    int add(CharacterBase character, int body, int startHealth, float damping) {
+        int index = characters.size;
+        characters.add(character);
+        ensureCapacity(characters.size);
+
+        bodyIndex[index] = body;
+        state[index] = CharacterBase.CharacterState.STANDING.ordinal();
+        previousState[index] = state[index];
+        stateTime[index] = 0;
+        health[index] = startHealth;
+        jumps[index] = 0;
+        footContacts[index] = 0;
+        facing[index] = CharacterBase.Direction.RIGHT.ordinal();
+        ticksSinceHit[index] = 0;
+        linearDamping[index] = damping;
+        previousX[index] = bodies.getX(body);
+        previousY[index] = bodies.getY(body);
+
+        return index;
+    }
+
+    // Timers of a single character, the first half of update
+    void advance(int index, float delta) {
+        int body = bodyIndex[index];
+        previousX[index] = bodies.getX(body);
+        previousY[index] = bodies.getY(body);
+
+        stateTime[index] += delta;
+        if (ticksSinceHit[index] < GameConfig.IFRAME_TICKS) ++ticksSinceHit[index];
+    }
+
+    // Puts the states back without running any enter or exit logic
+    void setStates(int index, CharacterBase.CharacterState current, CharacterBase.CharacterState previous) {
+        state[index] = current.ordinal();
+        previousState[index] = previous.ordinal();
+    }
+
+    void setStateTime(int index, float time) {
+        stateTime[index] = time;
+    }
+
+    void setHealth(int index, int value) {
+        health[index] = value;
+    }
+
+    void setJumps(int index, int value) {
+        jumps[index] = value;
+    }
+
+    void setFootContacts(int index, int value) {
+        footContacts[index] = value;
+    }
+
+    void setFacing(int index, CharacterBase.Direction direction) {
+        facing[index] = direction.ordinal();
+    }
+
+    void setTicksSinceHit(int index, int ticks) {
+        ticksSinceHit[index] = ticks;
+    }
+
+    void setLinearDamping(int index, float damping) {
+        linearDamping[index] = damping;
+    }
+
+    void setPrevious(int index, float x, float y) {
+        previousX[index] = x;
+        previousY[index] = y;
+    }
+
+    // == Private methods ==
+    private void ensureCapacity(int size) {
+        if (size <= state.length) return;
+
+        int capacity = Math.max(8, state.length * 2);
+
+        bodyIndex = grow(bodyIndex, capacity);
+        state = grow(state, capacity);
+        previousState = grow(previousState, capacity);
+        stateTime = grow(stateTime, capacity);
+        health = grow(health, capacity);
+        jumps = grow(jumps, capacity);
+        footContacts = grow(footContacts, capacity);
+        facing = grow(facing, capacity);
+        ticksSinceHit = grow(ticksSinceHit, capacity);
+        linearDamping = grow(linearDamping, capacity);
+        previousX = grow(previousX, capacity);
+        previousY = grow(previousY, capacity);
+    }
+
+    private static int[] grow(int[] array, int capacity) {
+        int[] grown = new int[capacity];
+        System.arraycopy(array, 0, grown, 0, array.length);
+        return grown;
+    }
+
+    private static float[] grow(float[] array, int capacity) {
+        float[] grown = new float[capacity];
+        System.arraycopy(array, 0, grown, 0, array.length);
+        return grown;
+    }
+}
@@ -0,0 +1,28 @@
+package com.fighter.entity;
+
+/**
+ * Tunable numbers of a character. Every character type has its defaults,
+ * tools such as balance sweeps pass in modified copies.
+ */
+public class CharacterStats {
+
+    // == Attributes ==
+    public int health;
+    public int attack;
+    public float speed; // World units per second
+    public float jumpForce; // Vertical velocity of a jump
+    public float attackRange; // Reach of the attack hitbox from the body center
+
+    // == Constructors ==
+    public CharacterStats(int health, int attack, float speed, float jumpForce, float attackRange) {
+        this.health = health;
+        this.attack = attack;
+        this.speed = speed;
+        this.jumpForce = jumpForce;
+        this.attackRange = attackRange;
+    }
+
+    public CharacterStats(CharacterStats other) {
+        this(other.health, other.attack, other.speed, other.jumpForce, other.attackRange);
+    }
+}
@@ -0,0 +1,58 @@
+package com.fighter.entity;
+
+/**
+ * Hit volume of an attack and the animation frames it is active on. The box
+ * is relative to the body center for a character facing right and is
+ * mirrored when facing left.
+ */
+public class HitboxDef {
+
+    // == Attributes ==
+    private final int firstActiveFrame;
+    private final int lastActiveFrame;
+
+    private final float minX;
+    private final float maxX;
+    private final float minY;
+    private final float maxY;
+
+    // == Constructors ==
+    public HitboxDef(int firstActiveFrame, int lastActiveFrame,
+                     float minX, float maxX, float minY, float maxY) {
+        this.firstActiveFrame = firstActiveFrame;
+        this.lastActiveFrame = lastActiveFrame;
+        this.minX = minX;
+        this.maxX = maxX;
+        this.minY = minY;
+        this.maxY = maxY;
+    }
+
+    // == Public methods ==
+    public boolean isActive(int frameIndex) {
+        return frameIndex >= firstActiveFrame && frameIndex <= lastActiveFrame;
+    }
+
+    public int getFirstActiveFrame() {
+        return firstActiveFrame;
+    }
+
+    public int getLastActiveFrame() {
+        return lastActiveFrame;
+    }
+
+    public float getMinX() {
+        return minX;
+    }
+
+    public float getMaxX() {
+        return maxX;
+    }
+
+    public float getMinY() {
+        return minY;
+    }
+
+    public float getMaxY() {
+        return maxY;
+    }
+}
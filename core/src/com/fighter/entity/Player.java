@@ -1,62 +1,65 @@
 package com.fighter.entity;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Input;
-import com.badlogic.gdx.ai.fsm.StackStateMachine;
 import com.badlogic.gdx.ai.fsm.State;
-import com.badlogic.gdx.ai.fsm.StateMachine;
 import com.badlogic.gdx.ai.msg.Telegram;
-import com.badlogic.gdx.assets.AssetManager;
-import com.badlogic.gdx.graphics.Camera;
-import com.badlogic.gdx.graphics.g2d.Batch;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
-import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.physics.box2d.World;
-import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.utils.Logger;
-import com.fighter.config.GameConfig;
+import com.fighter.input.InputFrame;
 
-public class Player extends Actor {
+/**
+ * Drives a character from one {@link InputFrame} per tick. Humans and AI
+ * control their characters the same way, only the source of the frames
+ * differs.
+ */
+public class Player {
 
     // == Constants ==
     private static final Logger LOG = new Logger(Player.class.getName(), Logger.DEBUG);
 
-    private float X_START = (GameConfig.WORLD_WIDTH - 1) / 2f;
-    private float Y_START = 1f;
-
     // == Attributes ==
     public CharacterBase character;
-    public StateMachine<Player, InputState> inputState;
+    public RestorableStateMachine<Player, InputState> inputState;
+
+    private InputFrame input;
 
     // == Constructors ==
-    public Player(AssetManager assetManager, World world, int entityNumber) {
-        this.character = new CharacterTestKnight(assetManager, world, new Vector2(X_START, Y_START), entityNumber);
-        inputState = new StackStateMachine<Player, InputState>(this, InputState.STANDING);
+    public Player(CharacterBase character) {
+        this.character = character;
+        inputState = new RestorableStateMachine<Player, InputState>(this, InputState.STANDING);
     }
 
     // == Public methods ==
-    @Override
-    public void act(float delta) {
-        super.act(delta);
-        character.act(delta);
-        update();
+
+    /**
+     * Runs the input state machine on this tick's frame. Only the input,
+     * the character itself is updated along with the rest of its
+     * {@link CharacterStateStore}.
+     */
+    public void updateInput(InputFrame input) {
+        this.input = input;
+
+        // TODO Detect double click
+
+        if (!character.isKnockedBack())
+            inputState.update();
     }
 
-    @Override
-    public void draw(Batch batch, float parentAlpha) {
-        character.draw(batch, parentAlpha);
+    public CharacterBase getCharacter() {
+        return character;
     }
 
-    public void drawHealth(ShapeRenderer renderer, Camera textCamera, Camera camera) {
-        character.drawHealth(renderer, textCamera, camera);
+    public void save(CharacterSnapshot snapshot) {
+        character.save(snapshot);
+        snapshot.inputState = inputState.getCurrentState();
+        snapshot.previousInputState = inputState.getPreviousState();
     }
 
-    // == Private methods ==
-    private void update() {
-        // TODO Detect double click
+    public void restore(CharacterSnapshot snapshot) {
+        character.restore(snapshot);
+        inputState.restore(snapshot.inputState, snapshot.previousInputState);
+    }
 
-        if (!character.isKnockedBack())
-            inputState.update();
+    public int hashState(int hash) {
+        return 31 * character.hashState(hash) + inputState.getCurrentState().ordinal();
     }
 
     public enum InputState implements State<Player> {
@@ -67,23 +70,23 @@ public class Player extends Actor {
                 if (!player.character.isFalling())
                     player.character.stand();
 
-                if (Gdx.input.isKeyJustPressed(Input.Keys.SPACE)) {
+                if (player.input.isJustPressed(InputFrame.JUMP)) {
                     player.inputState.changeState(JUMPING);
                 }
 
-                if (Gdx.input.isKeyPressed(Input.Keys.RIGHT)) {
+                if (player.input.isPressed(InputFrame.RIGHT)) {
                     player.inputState.changeState(WALKING_RIGHT);
                 }
 
-                if (Gdx.input.isKeyPressed(Input.Keys.LEFT)) {
+                if (player.input.isPressed(InputFrame.LEFT)) {
                     player.inputState.changeState(WALKING_LEFT);
                 }
 
-                if (Gdx.input.isKeyJustPressed(Input.Keys.SHIFT_LEFT)) {
+                if (player.input.isJustPressed(InputFrame.ATTACK)) {
                     player.inputState.changeState(ATTACKING);
                 }
 
-                if (Gdx.input.isKeyPressed(Input.Keys.CONTROL_LEFT)) {
+                if (player.input.isPressed(InputFrame.GUARD)) {
                     player.inputState.changeState(GUARDING);
                 }
             }
@@ -92,20 +95,20 @@ public class Player extends Actor {
         WALKING_LEFT() {
             @Override
             public void update(Player player) {
-                if (!Gdx.input.isKeyPressed(Input.Keys.LEFT))
+                if (!player.input.isPressed(InputFrame.LEFT))
                     player.inputState.changeState(STANDING);
 
                 player.character.moveLeft();
 
-                if (Gdx.input.isKeyPressed(Input.Keys.SPACE)) {
+                if (player.input.isPressed(InputFrame.JUMP)) {
                     player.inputState.changeState(JUMPING);
                 }
 
-                if (Gdx.input.isKeyJustPressed(Input.Keys.SHIFT_LEFT)) {
+                if (player.input.isJustPressed(InputFrame.ATTACK)) {
                     player.inputState.changeState(ATTACKING);
                 }
 
-                if (Gdx.input.isKeyPressed(Input.Keys.CONTROL_LEFT)) {
+                if (player.input.isPressed(InputFrame.GUARD)) {
                     player.inputState.changeState(GUARDING);
                 }
             }
@@ -114,20 +117,20 @@ public class Player extends Actor {
         WALKING_RIGHT() {
             @Override
             public void update(Player player) {
-                if (!Gdx.input.isKeyPressed(Input.Keys.RIGHT))
+                if (!player.input.isPressed(InputFrame.RIGHT))
                     player.inputState.changeState(STANDING);
 
                 player.character.moveRight();
 
-                if (Gdx.input.isKeyPressed(Input.Keys.SPACE)) {
+                if (player.input.isPressed(InputFrame.JUMP)) {
                     player.inputState.changeState(JUMPING);
                 }
 
-                if (Gdx.input.isKeyJustPressed(Input.Keys.SHIFT_LEFT)) {
+                if (player.input.isJustPressed(InputFrame.ATTACK)) {
                     player.inputState.changeState(ATTACKING);
                 }
 
-                if (Gdx.input.isKeyPressed(Input.Keys.CONTROL_LEFT)) {
+                if (player.input.isPressed(InputFrame.GUARD)) {
                     player.inputState.changeState(GUARDING);
                 }
             }
@@ -140,19 +143,19 @@ public class Player extends Actor {
                     player.inputState.changeState(STANDING);
                 }
 
-                if (Gdx.input.isKeyPressed(Input.Keys.RIGHT)) {
+                if (player.input.isPressed(InputFrame.RIGHT)) {
                     player.character.jumpRight();
                 }
 
-                if (Gdx.input.isKeyPressed(Input.Keys.LEFT)) {
+                if (player.input.isPressed(InputFrame.LEFT)) {
                     player.character.jumpLeft();
                 }
 
-                if (Gdx.input.isKeyJustPressed(Input.Keys.SHIFT_LEFT)) {
+                if (player.input.isJustPressed(InputFrame.ATTACK)) {
                     player.inputState.changeState(ATTACKING);
                 }
 
-                if (Gdx.input.isKeyJustPressed(Input.Keys.SPACE)) {
+                if (player.input.isJustPressed(InputFrame.JUMP)) {
                     player.character.jump();
                 }
             }
@@ -166,7 +169,7 @@ public class Player extends Actor {
         GUARDING() {
             @Override
             public void update(Player player) {
-                if (!Gdx.input.isKeyPressed(Input.Keys.CONTROL_LEFT))
+                if (!player.input.isPressed(InputFrame.GUARD))
                     player.inputState.changeState(STANDING);
 
                 player.character.guard();
@@ -0,0 +1,22 @@
+package com.fighter.entity;
+
+import com.badlogic.gdx.ai.fsm.DefaultStateMachine;
+import com.badlogic.gdx.ai.fsm.State;
+
+/**
+ * State machine whose current and previous state can be put back from a
+ * snapshot without running any enter or exit logic.
+ */
+public class RestorableStateMachine<E, S extends State<E>> extends DefaultStateMachine<E, S> {
+
+    // == Constructors ==
+    public RestorableStateMachine(E owner, S initialState) {
+        super(owner, initialState);
+    }
+
+    // == Public methods ==
+    public void restore(S currentState, S previousState) {
+        this.currentState = currentState;
+        this.previousState = previousState;
+    }
+}
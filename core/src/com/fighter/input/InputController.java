@@ -0,0 +1,11 @@
+package com.fighter.input;
+
+/**
+ * Source of one player's {@link InputFrame} button mask. Every controller is
+ * sampled exactly once per simulation tick, outside the simulation, so the
+ * match only ever sees the sampled masks.
+ */
+public interface InputController {
+
+    int sample();
+}
@@ -0,0 +1,50 @@
+package com.fighter.input;
+
+/**
+ * Buttons held by one player during a simulation tick, packed into a bit
+ * mask. The previous tick's mask is kept to detect presses.
+ */
+public class InputFrame {
+
+    // == Constants ==
+    public static final int LEFT = 1;
+    public static final int RIGHT = 1 << 1;
+    public static final int JUMP = 1 << 2;
+    public static final int ATTACK = 1 << 3;
+    public static final int GUARD = 1 << 4;
+
+    public static final int NONE = 0;
+
+    // == Attributes ==
+    private int buttons;
+    private int previousButtons;
+
+    // == Public methods ==
+    public void set(int buttons) {
+        previousButtons = this.buttons;
+        this.buttons = buttons;
+    }
+
+    // Puts back a frame saved with getButtons and getPreviousButtons
+    public void restore(int buttons, int previousButtons) {
+        this.buttons = buttons;
+        this.previousButtons = previousButtons;
+    }
+
+    public int getButtons() {
+        return buttons;
+    }
+
+    public int getPreviousButtons() {
+        return previousButtons;
+    }
+
+    public boolean isPressed(int button) {
+        return (buttons & button) != 0;
+    }
+
+    // True <=> the button went down this tick
+    public boolean isJustPressed(int button) {
+        return (buttons & button) != 0 && (previousButtons & button) == 0;
+    }
+}
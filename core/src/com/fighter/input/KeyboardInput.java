@@ -0,0 +1,40 @@
+package com.fighter.input;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+
+/**
+ * Turns the keyboard into {@link InputFrame} button masks. Keys are polled
+ * every rendered frame and latched until the next tick samples them, so a
+ * tap between two ticks is not lost.
+ */
+public class KeyboardInput implements InputController {
+
+    // == Attributes ==
+    private int latched;
+
+    // == Public methods ==
+    public void poll() {
+        latched |= readKeys();
+    }
+
+    @Override
+    public int sample() {
+        int buttons = latched | readKeys();
+        latched = InputFrame.NONE;
+        return buttons;
+    }
+
+    // == Private methods ==
+    private int readKeys() {
+        int buttons = InputFrame.NONE;
+
+        if (Gdx.input.isKeyPressed(Input.Keys.LEFT)) buttons |= InputFrame.LEFT;
+        if (Gdx.input.isKeyPressed(Input.Keys.RIGHT)) buttons |= InputFrame.RIGHT;
+        if (Gdx.input.isKeyPressed(Input.Keys.SPACE)) buttons |= InputFrame.JUMP;
+        if (Gdx.input.isKeyPressed(Input.Keys.SHIFT_LEFT)) buttons |= InputFrame.ATTACK;
+        if (Gdx.input.isKeyPressed(Input.Keys.CONTROL_LEFT)) buttons |= InputFrame.GUARD;
+
+        return buttons;
+    }
+}
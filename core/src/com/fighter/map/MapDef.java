@@ -0,0 +1,351 @@
+package com.fighter.map;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.SerializationException;
+import com.fighter.config.GameConfig;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+
+/**
+ * A map as described by its JSON file, in world units with y up: the
+ * regions of the map atlas to draw and the solids to collide with.
+ * <p>
+ * Solids are given as rectangles and as the solid cells of an optional tile
+ * grid. On load the grid is meshed into rectangles, and rectangles that
+ * share a whole edge are merged, so a stage built from hundreds of tiles
+ * ends up with a handful of fixtures in the broadphase.
+ * <p>
+ * Wide stages are split along x into chunks of {@code chunkWidth}, which
+ * MapLayout and MapView only bring to life near the fighters and the camera.
+ * <pre>
+ * {
+ *   "background": "region",
+ *   "chunkWidth": 16,
+ *   "tiles": [ { "region": "region", "x": 0, "y": 0, "width": 10, "height": 1 } ],
+ *   "solids": [ { "x": 0, "y": 0, "width": 10, "height": 0.85 } ],
+ *   "grid": {
+ *     "x": 0, "y": 0, "cellSize": 0.5,
+ *     "legend": { "#": { "region": "region", "solid": true } },
+ *     "rows": [ "top row", "...", "####" ]
+ *   }
+ * }
+ * </pre>
+ */
+public class MapDef {
+
+    // == Constants ==
+
+    // Edges closer than this are considered touching
+    private static final float EDGE_TOLERANCE = 0.0001f;
+
+    private static final char EMPTY_CELL = '.';
+
+    // == Attributes ==
+    private final String background;
+    private final float chunkWidth;
+
+    // Right edge of the rightmost tile or solid, the stage starts at 0
+    private float width;
+
+    private final Array<Tile> tiles = new Array<Tile>();
+    private final Array<Rectangle> solids = new Array<Rectangle>();
+
+    // Solid rectangles before merging
+    private int sourceSolidCount;
+
+    // == Constructors ==
+    private MapDef(String background, float chunkWidth) {
+        this.background = background;
+        this.chunkWidth = chunkWidth;
+    }
+
+    // == Public methods ==
+
+    /**
+     * Reads a map from the stream, then closes it.
+     */
+    public static MapDef read(InputStream stream) throws IOException {
+        Reader reader = new InputStreamReader(stream, "UTF-8");
+        try {
+            return parse(new JsonReader().parse(reader));
+        } catch (SerializationException e) {
+            throw new IOException("Not a map file: " + e.getMessage());
+        } finally {
+            reader.close();
+        }
+    }
+
+    public static MapDef parse(String json) throws IOException {
+        try {
+            return parse(new JsonReader().parse(json));
+        } catch (SerializationException e) {
+            throw new IOException("Not a map file: " + e.getMessage());
+        }
+    }
+
+    public String getBackground() {
+        return background;
+    }
+
+    public float getWidth() {
+        return width;
+    }
+
+    public float getChunkWidth() {
+        return chunkWidth;
+    }
+
+    public int getChunkCount() {
+        return Math.max(1, MathUtils.ceil(width / chunkWidth));
+    }
+
+    /** The chunk that holds {@code x}, clamped to the stage. */
+    public int getChunk(float x) {
+        return MathUtils.clamp((int) Math.floor(x / chunkWidth), 0, getChunkCount() - 1);
+    }
+
+    /** The last chunk a rectangle starting at {@code x} reaches into. */
+    public int getLastChunk(float x, float width) {
+        return getChunk(x + width - EDGE_TOLERANCE);
+    }
+
+    /** Regions to draw, in drawing order. */
+    public Array<Tile> getTiles() {
+        return tiles;
+    }
+
+    /** The merged collision rectangles, one fixture each. */
+    public Array<Rectangle> getSolids() {
+        return solids;
+    }
+
+    /** Collision rectangles and solid grid cells the file describes, before merging. */
+    public int getSourceSolidCount() {
+        return sourceSolidCount;
+    }
+
+    // == Private methods ==
+    private static MapDef parse(JsonValue json) throws IOException {
+        MapDef map = new MapDef(require(json, "background").asString(),
+                json.getFloat("chunkWidth", GameConfig.STAGE_CHUNK_WIDTH));
+        if (map.chunkWidth <= 0) throw new IOException("chunkWidth must be positive");
+
+        JsonValue tiles = json.get("tiles");
+        if (tiles != null) {
+            for (JsonValue tile : tiles) {
+                map.tiles.add(new Tile(require(tile, "region").asString(),
+                        tile.getFloat("x"), tile.getFloat("y"),
+                        tile.getFloat("width"), tile.getFloat("height")));
+            }
+        }
+
+        JsonValue solids = json.get("solids");
+        if (solids != null) {
+            for (JsonValue solid : solids) {
+                map.solids.add(new Rectangle(solid.getFloat("x"), solid.getFloat("y"),
+                        solid.getFloat("width"), solid.getFloat("height")));
+                ++map.sourceSolidCount;
+            }
+        }
+
+        JsonValue grid = json.get("grid");
+        if (grid != null) {
+            parseGrid(map, grid);
+        }
+
+        if (map.solids.size == 0) {
+            throw new IOException("A map needs at least one solid to stand on");
+        }
+
+        mergeAdjacent(map.solids);
+
+        for (Tile tile : map.tiles) {
+            map.width = Math.max(map.width, tile.x + tile.width);
+        }
+        for (Rectangle solid : map.solids) {
+            map.width = Math.max(map.width, solid.x + solid.width);
+        }
+        return map;
+    }
+
+    private static void parseGrid(MapDef map, JsonValue grid) throws IOException {
+        float originX = grid.getFloat("x", 0f);
+        float originY = grid.getFloat("y", 0f);
+        float cellSize = grid.getFloat("cellSize");
+
+        JsonValue legend = require(grid, "legend");
+        String[] rows = require(grid, "rows").asStringArray();
+
+        int height = rows.length;
+        int width = 0;
+        for (String row : rows) {
+            width = Math.max(width, row.length());
+        }
+
+        // Indexed [column][row] with row 0 at the bottom, like the world
+        boolean[][] solid = new boolean[width][height];
+
+        for (int row = 0; row < height; ++row) {
+            String line = rows[height - 1 - row];
+
+            for (int column = 0; column < line.length(); ++column) {
+                char cell = line.charAt(column);
+                if (cell == EMPTY_CELL || cell == ' ') continue;
+
+                JsonValue entry = legend.get(String.valueOf(cell));
+                if (entry == null) throw new IOException("Grid cell '" + cell + "' is not in the legend");
+
+                float x = originX + column * cellSize;
+                float y = originY + row * cellSize;
+
+                String region = entry.getString("region", null);
+                if (region != null) {
+                    map.tiles.add(new Tile(region, x, y, cellSize, cellSize));
+                }
+
+                if (entry.getBoolean("solid", false)) {
+                    solid[column][row] = true;
+                    ++map.sourceSolidCount;
+                }
+            }
+        }
+
+        meshGrid(solid, originX, originY, cellSize, map.solids);
+    }
+
+    // Greedy meshing: grow each run of solid cells along the row, then
+    // upwards for as long as the rows above have the same run
+    private static void meshGrid(boolean[][] solid, float originX, float originY, float cellSize,
+                                 Array<Rectangle> out) {
+        int width = solid.length;
+        int height = (width == 0) ? 0 : solid[0].length;
+
+        for (int row = 0; row < height; ++row) {
+            for (int column = 0; column < width; ++column) {
+                if (!solid[column][row]) continue;
+
+                int runWidth = 1;
+                while (column + runWidth < width && solid[column + runWidth][row]) {
+                    ++runWidth;
+                }
+
+                int runHeight = 1;
+                while (row + runHeight < height && isRun(solid, column, row + runHeight, runWidth)) {
+                    ++runHeight;
+                }
+
+                // Taken cells are cleared so no other run picks them up
+                for (int x = column; x < column + runWidth; ++x) {
+                    for (int y = row; y < row + runHeight; ++y) {
+                        solid[x][y] = false;
+                    }
+                }
+
+                out.add(new Rectangle(originX + column * cellSize, originY + row * cellSize,
+                        runWidth * cellSize, runHeight * cellSize));
+            }
+        }
+    }
+
+    private static boolean isRun(boolean[][] solid, int column, int row, int runWidth) {
+        for (int x = column; x < column + runWidth; ++x) {
+            if (!solid[x][row]) return false;
+        }
+        return true;
+    }
+
+    // Merges rectangles that share a whole edge until none do. The first of
+    // a pair grows into the union, so solids keep their order in the file.
+    private static void mergeAdjacent(Array<Rectangle> solids) {
+        boolean merged = true;
+
+        while (merged) {
+            merged = false;
+
+            for (int i = 0; i < solids.size; ++i) {
+                Rectangle a = solids.get(i);
+
+                for (int j = i + 1; j < solids.size; ++j) {
+                    if (merge(a, solids.get(j))) {
+                        solids.removeIndex(j--);
+                        merged = true;
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean merge(Rectangle a, Rectangle b) {
+        boolean sameRow = near(a.y, b.y) && near(a.height, b.height);
+        boolean sameColumn = near(a.x, b.x) && near(a.width, b.width);
+
+        if (sameRow && (near(a.x + a.width, b.x) || near(b.x + b.width, a.x))) {
+            a.width += b.width;
+            a.x = Math.min(a.x, b.x);
+            return true;
+        }
+        if (sameColumn && (near(a.y + a.height, b.y) || near(b.y + b.height, a.y))) {
+            a.height += b.height;
+            a.y = Math.min(a.y, b.y);
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean near(float a, float b) {
+        return Math.abs(a - b) <= EDGE_TOLERANCE;
+    }
+
+    private static JsonValue require(JsonValue value, String name) throws IOException {
+        JsonValue child = value.get(name);
+        if (child == null) throw new IOException("Map is missing \"" + name + "\"");
+        return child;
+    }
+
+    // == Tile ==
+
+    /** A region drawn over a rectangle of the map, repeated along its width. */
+    public static class Tile {
+
+        private final String region;
+        private final float x;
+        private final float y;
+        private final float width;
+        private final float height;
+
+        Tile(String region, float x, float y, float width, float height) {
+            this.region = region;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+
+        public String getRegion() {
+            return region;
+        }
+
+        public float getX() {
+            return x;
+        }
+
+        public float getY() {
+            return y;
+        }
+
+        public float getWidth() {
+            return width;
+        }
+
+        public float getHeight() {
+            return height;
+        }
+    }
+}
@@ -1,58 +1,224 @@
 package com.fighter.map;
 
-import com.badlogic.gdx.assets.AssetManager;
-import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.graphics.g2d.TextureAtlas;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.FixtureDef;
+import com.badlogic.gdx.physics.box2d.PolygonShape;
 import com.badlogic.gdx.physics.box2d.World;
-import com.badlogic.gdx.scenes.scene2d.Stage;
-import com.badlogic.gdx.scenes.scene2d.ui.Image;
-import com.badlogic.gdx.utils.viewport.Viewport;
-import com.fighter.FighterGame;
-import com.fighter.assets.AssetDescriptors;
-import com.fighter.assets.RegionNames;
+import com.badlogic.gdx.utils.Array;
 import com.fighter.config.GameConfig;
-import com.fighter.entity.Ground;
-import com.fighter.entity.Platform;
+import com.fighter.physics.CollisionMatrix;
+import com.fighter.physics.FixtureTag;
 
-// TODO Make abstract and create subclasses
+/**
+ * The static physics of a {@link MapDef}: one body with a single box
+ * fixture per merged solid, centred on it.
+ * <p>
+ * Only the chunks of the stage near the fighters have their bodies in the
+ * world, see {@link #update(float, float)}. A solid that reaches over
+ * several chunks is in the world while any of them is active.
+ * <p>
+ * Chunks turn on closer to the fighters than they turn off, so the active
+ * set is match state like the fighters are, and is saved with them.
+ */
 public class MapLayout {
 
+    // == Constants ==
+    private static final float SOLID_DENSITY = 0.0f;
+
     // == Attributes ==
-    private FighterGame game;
-    private AssetManager assetManager;
+    private final World world;
+    private final MapDef def;
+
+    private final BodyDef bodyDef = new BodyDef();
+    private final FixtureDef fixtureDef = new FixtureDef();
+
+    // Hosts fixtures that have to be attached to something static, whatever
+    // chunks are active
+    private final Body anchor;
 
-    private Image background;
+    private final boolean[] activeChunks;
+    private int activeChunkCount;
 
-    private Ground ground;
-    private Platform platform_1;
+    // Indexed like the solids of the map, null while none of its chunks is active
+    private final Body[] solidBodies;
+    private final int[] solidActiveChunks;
+    private final int[] solidFirstChunk;
+    private final int[] solidLastChunk;
+
+    private final Array<Body> bodies = new Array<Body>();
 
     // == Constructors ==
-    public MapLayout(FighterGame game, World world) {
-        this.game = game;
-        assetManager = game.getAssetManager();
 
-        TextureAtlas mapAtlas = assetManager.get(AssetDescriptors.TEST_MAP);
-        background = new Image(mapAtlas.findRegion(RegionNames.TEST_BACKGROUND));
-        background.setSize(GameConfig.WORLD_WIDTH, GameConfig.WORLD_HEIGHT);
+    /** Creates the map with every chunk in range of [minX, maxX] active. */
+    public MapLayout(World world, MapDef def, float minX, float maxX) {
+        this.world = world;
+        this.def = def;
+
+        bodyDef.type = BodyDef.BodyType.StaticBody;
+        fixtureDef.density = SOLID_DENSITY;
+        CollisionMatrix.DEFAULT.apply(FixtureTag.STAGE, fixtureDef.filter);
+
+        Array<Rectangle> solids = def.getSolids();
+        activeChunks = new boolean[def.getChunkCount()];
+        solidBodies = new Body[solids.size];
+        solidActiveChunks = new int[solids.size];
+        solidFirstChunk = new int[solids.size];
+        solidLastChunk = new int[solids.size];
+
+        for (int i = 0; i < solids.size; ++i) {
+            Rectangle solid = solids.get(i);
+            solidFirstChunk[i] = def.getChunk(solid.x);
+            solidLastChunk[i] = def.getLastChunk(solid.x, solid.width);
+        }
+
+        update(minX, maxX);
+
+        bodyDef.position.setZero();
+        anchor = world.createBody(bodyDef);
+    }
 
-        ground = new Ground(game, world);
-        platform_1 = new Platform(game, world, 2f, 2f, 2f, 0.45f);
+    /** Creates the map with every chunk active, for stages that fit on screen. */
+    public MapLayout(World world, MapDef def) {
+        this(world, def, 0, def.getWidth());
     }
 
     // == Public Methods ==
-    public void renderDebug(ShapeRenderer renderer, Viewport viewport, OrthographicCamera camera) {
-        ground.renderDebug(renderer, viewport, camera);
-        platform_1.renderDebug(renderer, viewport, camera);
+
+    /**
+     * Activates the chunks within {@link GameConfig#CHUNK_ACTIVATION_RANGE}
+     * of [minX, maxX] and releases the ones beyond
+     * {@link GameConfig#CHUNK_RELEASE_RANGE}, creating and destroying the
+     * bodies of their solids. Allocates nothing unless a chunk changes.
+     */
+    public void update(float minX, float maxX) {
+        float chunkWidth = def.getChunkWidth();
+
+        for (int chunk = 0; chunk < activeChunks.length; ++chunk) {
+            float left = chunk * chunkWidth;
+            float right = left + chunkWidth;
+
+            if (!activeChunks[chunk]) {
+                if (right >= minX - GameConfig.CHUNK_ACTIVATION_RANGE
+                        && left <= maxX + GameConfig.CHUNK_ACTIVATION_RANGE) {
+                    setActive(chunk, true);
+                }
+            } else if (right < minX - GameConfig.CHUNK_RELEASE_RANGE
+                    || left > maxX + GameConfig.CHUNK_RELEASE_RANGE) {
+                setActive(chunk, false);
+            }
+        }
+    }
+
+    public MapDef getDef() {
+        return def;
+    }
+
+    /** A static body without fixtures, always in the world. */
+    public Body getAnchor() {
+        return anchor;
+    }
+
+    /** The bodies of the solids currently in the world. */
+    public Array<Body> getBodies() {
+        return bodies;
+    }
+
+    public boolean isChunkActive(int chunk) {
+        return activeChunks[chunk];
+    }
+
+    public int getChunkCount() {
+        return activeChunks.length;
+    }
+
+    /** Copies which chunks are active into {@code active}, one per chunk. */
+    public void saveActiveChunks(boolean[] active) {
+        System.arraycopy(activeChunks, 0, active, 0, activeChunks.length);
+    }
+
+    /**
+     * Makes exactly the given chunks active, whatever {@link #update(float, float)}
+     * would decide from where the fighters are now. Which chunks are active
+     * depends on where the fighters have been, so a restored match needs the
+     * saved set back. The chunks to release go first, then the rest are
+     * activated in chunk order.
+     *
+     * @return whether any chunk changed
+     */
+    public boolean restoreActiveChunks(boolean[] active) {
+        boolean changed = false;
+
+        for (int chunk = 0; chunk < activeChunks.length; ++chunk) {
+            if (activeChunks[chunk] && !active[chunk]) {
+                setActive(chunk, false);
+                changed = true;
+            }
+        }
+        for (int chunk = 0; chunk < activeChunks.length; ++chunk) {
+            if (!activeChunks[chunk] && active[chunk]) {
+                setActive(chunk, true);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    public int getActiveChunkCount() {
+        return activeChunkCount;
     }
 
-    public Image getBackground() {
-        return background;
+    // Which chunks are active, see MatchSimulation#checksum
+    public int hashState(int hash) {
+        for (int chunk = 0; chunk < activeChunks.length; ++chunk) {
+            hash = 31 * hash + (activeChunks[chunk] ? 1 : 0);
+        }
+        return hash;
     }
 
-    public void addToStage(Stage stage) {
-        //stage.addActor(background);
-        stage.addActor(ground);
-        stage.addActor(platform_1);
+    // == Private methods ==
+    private void setActive(int chunk, boolean active) {
+        activeChunks[chunk] = active;
+        activeChunkCount += active ? 1 : -1;
+
+        // In the order of the map file, so the world is built the same way
+        // every time the same chunks come to life
+        for (int i = 0; i < solidBodies.length; ++i) {
+            if (chunk < solidFirstChunk[i] || chunk > solidLastChunk[i]) continue;
+
+            if (active) {
+                if (solidActiveChunks[i]++ == 0) createBody(i);
+            } else {
+                if (--solidActiveChunks[i] == 0) destroyBody(i);
+            }
+        }
+    }
+
+    private void createBody(int index) {
+        Rectangle solid = def.getSolids().get(index);
+        float halfWidth = solid.width / 2f;
+        float halfHeight = solid.height / 2f;
+
+        bodyDef.position.set(solid.x + halfWidth, solid.y + halfHeight);
+        Body body = world.createBody(bodyDef);
+
+        PolygonShape shape = new PolygonShape();
+        shape.setAsBox(halfWidth, halfHeight);
+        fixtureDef.shape = shape;
+        body.createFixture(fixtureDef).setUserData(FixtureTag.STAGE);
+        body.setUserData(this);
+        shape.dispose();
+
+        solidBodies[index] = body;
+        bodies.add(body);
+    }
+
+    private void destroyBody(int index) {
+        Body body = solidBodies[index];
+        solidBodies[index] = null;
+
+        bodies.removeValue(body, true);
+        world.destroyBody(body);
     }
 }
@@ -0,0 +1,18 @@
+package com.fighter.netplay;
+
+/**
+ * One player's buttons for one tick, as sent between peers. Receivers fill
+ * in a reused instance.
+ */
+public class InputMessage {
+
+    public long tick;
+    public int slot;
+    public int buttons;
+
+    public void set(long tick, int slot, int buttons) {
+        this.tick = tick;
+        this.slot = slot;
+        this.buttons = buttons;
+    }
+}
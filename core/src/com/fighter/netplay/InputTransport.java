@@ -0,0 +1,13 @@
+package com.fighter.netplay;
+
+/**
+ * Carries local inputs to the other peers and hands back theirs. Messages
+ * must arrive reliably and in order.
+ */
+public interface InputTransport {
+
+    void send(long tick, int slot, int buttons);
+
+    // Fills in the next received message, false if there is none yet
+    boolean receive(InputMessage message);
+}
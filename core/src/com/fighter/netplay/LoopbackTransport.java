@@ -0,0 +1,105 @@
+package com.fighter.netplay;
+
+import com.badlogic.gdx.math.RandomXS128;
+
+/**
+ * In-process {@link InputTransport} with simulated latency, for testing
+ * rollback without a network. Latency is measured in frames of the
+ * receiving end, call {@link #update()} once per frame on both ends.
+ */
+public class LoopbackTransport implements InputTransport {
+
+    // == Constants ==
+    private static final int INITIAL_CAPACITY = 64;
+
+    // == Attributes ==
+    private final int latencyFrames;
+    private final int jitterFrames;
+    private final RandomXS128 random;
+
+    private LoopbackTransport peer;
+    private long frame;
+
+    // Messages on their way to this end, in arrival order
+    private long[] ticks = new long[INITIAL_CAPACITY];
+    private int[] slots = new int[INITIAL_CAPACITY];
+    private int[] buttons = new int[INITIAL_CAPACITY];
+    private long[] arrivals = new long[INITIAL_CAPACITY];
+    private int head;
+    private int size;
+
+    // == Constructors ==
+    public LoopbackTransport(int latencyFrames, int jitterFrames, long seed) {
+        this.latencyFrames = latencyFrames;
+        this.jitterFrames = jitterFrames;
+        this.random = new RandomXS128(seed);
+    }
+
+    // == Public methods ==
+    public static void connect(LoopbackTransport a, LoopbackTransport b) {
+        a.peer = b;
+        b.peer = a;
+    }
+
+    public void update() {
+        ++frame;
+    }
+
+    @Override
+    public void send(long tick, int slot, int buttons) {
+        long arrival = peer.frame + latencyFrames;
+        if (jitterFrames > 0) arrival += random.nextInt(jitterFrames + 1);
+
+        peer.enqueue(tick, slot, buttons, arrival);
+    }
+
+    @Override
+    public boolean receive(InputMessage message) {
+        if (size == 0 || arrivals[head] > frame) return false;
+
+        message.set(ticks[head], slots[head], buttons[head]);
+        head = (head + 1) % ticks.length;
+        --size;
+        return true;
+    }
+
+    // == Private methods ==
+    private void enqueue(long tick, int slot, int buttons, long arrival) {
+        if (size == ticks.length) grow();
+
+        // Jitter must not reorder messages
+        if (size > 0) {
+            int last = (head + size - 1) % ticks.length;
+            arrival = Math.max(arrival, arrivals[last]);
+        }
+
+        int index = (head + size) % ticks.length;
+        this.ticks[index] = tick;
+        this.slots[index] = slot;
+        this.buttons[index] = buttons;
+        this.arrivals[index] = arrival;
+        ++size;
+    }
+
+    private void grow() {
+        int capacity = ticks.length * 2;
+        long[] newTicks = new long[capacity];
+        int[] newSlots = new int[capacity];
+        int[] newButtons = new int[capacity];
+        long[] newArrivals = new long[capacity];
+
+        for (int i = 0; i < size; ++i) {
+            int index = (head + i) % ticks.length;
+            newTicks[i] = ticks[index];
+            newSlots[i] = slots[index];
+            newButtons[i] = buttons[index];
+            newArrivals[i] = arrivals[index];
+        }
+
+        ticks = newTicks;
+        slots = newSlots;
+        buttons = newButtons;
+        arrivals = newArrivals;
+        head = 0;
+    }
+}
@@ -0,0 +1,206 @@
+package com.fighter.netplay;
+
+import com.fighter.simulation.MatchSimulation;
+import com.fighter.simulation.MatchSnapshot;
+
+/**
+ * Runs a {@link MatchSimulation} for one peer of an online match without
+ * waiting on the network. Remote inputs that have not arrived yet are
+ * predicted to repeat the last confirmed ones. When a confirmed input turns
+ * out to differ from the prediction, the match is restored to that tick and
+ * simulated forward again within the same frame.
+ * <p>
+ * Snapshots, checksums and inputs live in preallocated ring buffers, so a
+ * frame does not allocate, rollbacks included.
+ */
+public class RollbackSession {
+
+    // == Constants ==
+    public static final int MAX_ROLLBACK = 8; // Ticks we may run ahead of the remote inputs
+
+    // Ticks of history kept, enough for inputs from a peer running ahead of us
+    private static final int HISTORY = 4 * MAX_ROLLBACK;
+
+    private static final int PLAYERS = MatchSimulation.MAX_PLAYERS;
+
+    // == Attributes ==
+    private final MatchSimulation simulation;
+    private final InputTransport transport;
+    private final int localSlot;
+
+    // By tick, the state at its start and the checksum at its end
+    private final MatchSnapshot[] snapshots = new MatchSnapshot[HISTORY];
+    private final int[] checksums = new int[HISTORY];
+
+    // By tick and slot, the buttons used and whether they are confirmed
+    private final int[] inputs = new int[HISTORY * PLAYERS];
+    private final long[] inputTicks = new long[HISTORY * PLAYERS];
+    private final boolean[] confirmed = new boolean[HISTORY * PLAYERS];
+
+    private final long[] lastConfirmedTicks = new long[PLAYERS];
+    private final int[] lastConfirmedButtons = new int[PLAYERS];
+
+    private final int[] tickInputs = new int[PLAYERS];
+    private final InputMessage message = new InputMessage();
+
+    // Earliest tick simulated with a wrong prediction, -1 if none
+    private long mispredictedTick = -1;
+
+    private int rollbackTicks;
+    private int maxRollbackTicks;
+    private int rollbacks;
+
+    // == Constructors ==
+    public RollbackSession(MatchSimulation simulation, InputTransport transport, int localSlot) {
+        this.simulation = simulation;
+        this.transport = transport;
+        this.localSlot = localSlot;
+
+        for (int i = 0; i < HISTORY; ++i) {
+            snapshots[i] = new MatchSnapshot();
+        }
+        for (int i = 0; i < inputTicks.length; ++i) {
+            inputTicks[i] = -1;
+        }
+        for (int slot = 0; slot < PLAYERS; ++slot) {
+            lastConfirmedTicks[slot] = simulation.getTick() - 1;
+        }
+    }
+
+    // == Public methods ==
+
+    /**
+     * Takes in the remote inputs that arrived, rolls back if any prediction
+     * was wrong, and then simulates the next tick with the local buttons.
+     *
+     * @return false if we are {@link #MAX_ROLLBACK} ticks ahead of the remote
+     * inputs and have to wait, the local buttons were not used then
+     */
+    public boolean advance(int localButtons) {
+        rollbackTicks = 0;
+
+        receiveInputs();
+        if (mispredictedTick >= 0) rollBack();
+
+        long tick = simulation.getTick();
+        if (tick - getConfirmedTick() > MAX_ROLLBACK) return false;
+
+        confirm(tick, localSlot, localButtons);
+        transport.send(tick, localSlot, localButtons);
+
+        simulate(tick);
+        return true;
+    }
+
+    public MatchSimulation getSimulation() {
+        return simulation;
+    }
+
+    public long getTick() {
+        return simulation.getTick();
+    }
+
+    // Last tick for which the inputs of every player are known
+    public long getConfirmedTick() {
+        long tick = Long.MAX_VALUE;
+        for (int slot = 0; slot < PLAYERS; ++slot) {
+            tick = Math.min(tick, lastConfirmedTicks[slot]);
+        }
+        return tick;
+    }
+
+    // Checksum at the end of a recent tick, final once the tick is confirmed
+    public int getChecksum(long tick) {
+        if (tick >= simulation.getTick() || tick < simulation.getTick() - HISTORY) {
+            throw new IllegalArgumentException("Tick " + tick + " is not in the history.");
+        }
+        return checksums[ring(tick)];
+    }
+
+    // Ticks simulated again during the last advance
+    public int getRollbackTicks() {
+        return rollbackTicks;
+    }
+
+    public int getMaxRollbackTicks() {
+        return maxRollbackTicks;
+    }
+
+    public int getRollbacks() {
+        return rollbacks;
+    }
+
+    // == Private methods ==
+    private void receiveInputs() {
+        while (transport.receive(message)) {
+            long tick = message.tick;
+            int slot = message.slot;
+
+            if (tick <= lastConfirmedTicks[slot]) continue;
+
+            if (tick >= simulation.getTick() + HISTORY) {
+                throw new IllegalStateException("Input for tick " + tick + " is too far ahead.");
+            }
+
+            // Already simulated with a prediction, check it
+            int index = index(tick, slot);
+            if (tick < simulation.getTick() && inputs[index] != message.buttons) {
+                if (mispredictedTick < 0 || tick < mispredictedTick) mispredictedTick = tick;
+            }
+
+            confirm(tick, slot, message.buttons);
+        }
+    }
+
+    private void rollBack() {
+        long currentTick = simulation.getTick();
+        long firstTick = mispredictedTick;
+        mispredictedTick = -1;
+
+        simulation.restore(snapshots[ring(firstTick)]);
+
+        // Predictions after the corrected input are redone from it
+        for (long tick = firstTick; tick < currentTick; ++tick) {
+            simulate(tick);
+        }
+
+        rollbackTicks = (int) (currentTick - firstTick);
+        maxRollbackTicks = Math.max(maxRollbackTicks, rollbackTicks);
+        ++rollbacks;
+    }
+
+    private void simulate(long tick) {
+        for (int slot = 0; slot < PLAYERS; ++slot) {
+            int index = index(tick, slot);
+
+            if (inputTicks[index] != tick || !confirmed[index]) {
+                inputs[index] = lastConfirmedButtons[slot];
+                inputTicks[index] = tick;
+                confirmed[index] = false;
+            }
+            tickInputs[slot] = inputs[index];
+        }
+
+        simulation.save(snapshots[ring(tick)]);
+        simulation.tick(tickInputs);
+        checksums[ring(tick)] = simulation.checksum();
+    }
+
+    private void confirm(long tick, int slot, int buttons) {
+        int index = index(tick, slot);
+        inputs[index] = buttons;
+        inputTicks[index] = tick;
+        confirmed[index] = true;
+
+        lastConfirmedTicks[slot] = tick;
+        lastConfirmedButtons[slot] = buttons;
+    }
+
+    private int index(long tick, int slot) {
+        return ring(tick) * PLAYERS + slot;
+    }
+
+    private int ring(long tick) {
+        return (int) (tick % HISTORY);
+    }
+}
@@ -0,0 +1,46 @@
+package com.fighter.physics;
+
+import com.badlogic.gdx.physics.box2d.Filter;
+
+/**
+ * Which {@link FixtureTag}s collide, turned into category and mask bits so
+ * Box2D drops every other pair before it creates a contact. Contact
+ * listeners then only see the pairs listed here and can dispatch on the tag
+ * of one fixture without checking the other.
+ */
+public class CollisionMatrix {
+
+    // == Constants ==
+
+    // Characters only touch the stage, never each other
+    public static final CollisionMatrix DEFAULT = new CollisionMatrix()
+            .collide(FixtureTag.STAGE, FixtureTag.BODY)
+            .collide(FixtureTag.STAGE, FixtureTag.FOOT);
+
+    // == Attributes ==
+    private final short[] masks = new short[FixtureTag.values().length];
+
+    // == Public methods ==
+
+    /** Lets fixtures tagged {@code a} and {@code b} touch. */
+    public CollisionMatrix collide(FixtureTag a, FixtureTag b) {
+        masks[a.ordinal()] |= b.getCategory();
+        masks[b.ordinal()] |= a.getCategory();
+        return this;
+    }
+
+    public boolean collides(FixtureTag a, FixtureTag b) {
+        return (masks[a.ordinal()] & b.getCategory()) != 0;
+    }
+
+    public short getMask(FixtureTag tag) {
+        return masks[tag.ordinal()];
+    }
+
+    /** Sets the filter of a fixture tagged {@code tag}. */
+    public void apply(FixtureTag tag, Filter filter) {
+        filter.categoryBits = tag.getCategory();
+        filter.maskBits = masks[tag.ordinal()];
+        filter.groupIndex = 0;
+    }
+}
@@ -0,0 +1,25 @@
+package com.fighter.physics;
+
+/**
+ * What a fixture is, stored as its user data. Each tag is one Box2D
+ * category bit, and a {@link CollisionMatrix} decides which tags touch.
+ */
+public enum FixtureTag {
+
+    // Solids of the map
+    STAGE,
+
+    // A character's solid box
+    BODY,
+
+    // Sensor under a character that counts what it stands on
+    FOOT,
+
+    // Throwaway fixture MatchSimulation adds on restore, never touches anything
+    PROBE;
+
+    // == Public methods ==
+    public short getCategory() {
+        return (short) (1 << ordinal());
+    }
+}
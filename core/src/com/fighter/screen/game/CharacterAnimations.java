@@ -0,0 +1,63 @@
+package com.fighter.screen.game;
+
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.AtlasRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.fighter.entity.AnimationDef;
+import com.fighter.entity.CharacterArchetype;
+import com.fighter.entity.CharacterBase;
+
+/**
+ * The animations of one {@link CharacterArchetype}, resolved against an
+ * atlas once and shared by the views of every character of that type.
+ * Animations hold no playback state, so sharing them is safe.
+ * <p>
+ * Frames are kept as {@link AtlasRegion}s because the packer trims their
+ * transparent borders, and drawing them needs the trim offsets.
+ * ETC1 atlases come with the shader their frames must be drawn with.
+ */
+public class CharacterAnimations {
+
+    // == Attributes ==
+    private final ObjectMap<AnimationDef, Animation<AtlasRegion>> leftAnimations =
+            new ObjectMap<AnimationDef, Animation<AtlasRegion>>();
+    private final ObjectMap<AnimationDef, Animation<AtlasRegion>> rightAnimations =
+            new ObjectMap<AnimationDef, Animation<AtlasRegion>>();
+
+    private final ShaderProgram shader;
+
+    // == Constructors ==
+    public CharacterAnimations(CharacterArchetype archetype, TextureAtlas atlas) {
+        this(archetype, atlas, null);
+    }
+
+    public CharacterAnimations(CharacterArchetype archetype, TextureAtlas atlas, ShaderProgram shader) {
+        this.shader = shader;
+
+        for (AnimationDef def : archetype.getAnimations()) {
+            leftAnimations.put(def, createAnimation(atlas, def, def.getLeftRegion()));
+            rightAnimations.put(def, createAnimation(atlas, def, def.getRightRegion()));
+        }
+    }
+
+    // == Public methods ==
+    public Animation<AtlasRegion> get(AnimationDef def, CharacterBase.Direction direction) {
+        return (direction == CharacterBase.Direction.LEFT) ? leftAnimations.get(def) : rightAnimations.get(def);
+    }
+
+    // Null for the batch's default shader
+    public ShaderProgram getShader() {
+        return shader;
+    }
+
+    // == Private methods ==
+    private static Animation<AtlasRegion> createAnimation(TextureAtlas atlas, AnimationDef def, String region) {
+        return new Animation<AtlasRegion>(
+                def.getFrameDuration(),
+                atlas.findRegions(region),
+                def.isLooping() ? Animation.PlayMode.LOOP : Animation.PlayMode.NORMAL
+        );
+    }
+}
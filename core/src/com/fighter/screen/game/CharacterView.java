@@ -0,0 +1,142 @@
+package com.fighter.screen.game;
+
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.AtlasRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.fighter.entity.AnimationDef;
+import com.fighter.entity.CharacterBase;
+
+/**
+ * Draws a simulated {@link CharacterBase}: picks the animation frame for its
+ * current state and interpolates its position between the last two ticks.
+ */
+public class CharacterView extends Actor {
+
+    // == Attributes ==
+    private final CharacterBase character;
+
+    private final CharacterAnimations animations;
+
+    private AtlasRegion currentRegion;
+
+    private float interpolationAlpha = 1f;
+
+    // == Constructors ==
+    public CharacterView(CharacterBase character, CharacterAnimations animations) {
+        this.character = character;
+        this.animations = animations;
+
+        setSize(character.getSpriteWidth(), character.getSpriteHeight());
+
+        currentRegion = animations.get(character.getAnimations().first(), CharacterBase.Direction.RIGHT)
+                .getKeyFrame(0f);
+        updateRegion();
+    }
+
+    // == Public methods ==
+    @Override
+    public void draw(Batch batch, float parentAlpha) {
+        updateRegion();
+
+        float bodyX = getRenderX() - (character.getSpriteWidth() / 2f);
+        float bodyY = getRenderY() - (character.getCharacterHeight() / 2f);
+
+        // Switching shaders flushes the batch, so this costs a draw call
+        ShaderProgram previousShader = batch.getShader();
+        ShaderProgram shader = animations.getShader();
+        if (shader != null) {
+            batch.setShader(shader);
+        }
+
+        // The packer strips transparent borders, so place the trimmed frame
+        // where it sat inside the original sprite
+        float scaleX = getWidth() / currentRegion.originalWidth;
+        float scaleY = getHeight() / currentRegion.originalHeight;
+        float offsetX = currentRegion.offsetX * scaleX;
+        float offsetY = currentRegion.offsetY * scaleY;
+
+        batch.draw(currentRegion,
+                bodyX + offsetX, bodyY + offsetY,
+                getOriginX() - offsetX, getOriginY() - offsetY,
+                currentRegion.packedWidth * scaleX, currentRegion.packedHeight * scaleY,
+                getScaleX(), getScaleY(),
+                getRotation()
+        );
+
+        if (shader != null) {
+            batch.setShader(previousShader);
+        }
+    }
+
+    public void drawHealth(ShapeRenderer renderer, Camera textCamera, Camera camera) {
+        float healthPercent = (float) character.getCurrentHealth() / character.getHealth();
+
+        float ratew = textCamera.viewportWidth / camera.viewportWidth;
+        float rateh = textCamera.viewportHeight / camera.viewportHeight;
+
+        float x = textCamera.position.x - (camera.position.x - getRenderX()) * ratew;
+        float y = textCamera.position.y - (camera.position.y - getRenderY()) * rateh;
+
+        float healthX = x - 35f;
+        float healthY = y + 55f;
+        float healthWidth = 65f;
+        float healthHeight = 10f;
+
+        Color oldColor = renderer.getColor();
+
+        renderer.setProjectionMatrix(textCamera.combined);
+        renderer.begin(ShapeRenderer.ShapeType.Filled);
+
+        // Outline
+        renderer.setColor(Color.BLACK);
+        renderer.box(healthX - 1f, healthY - 1f, 0,
+                healthWidth + 2f, healthHeight + 2f, 0);
+
+        renderer.setColor(Color.RED);
+        renderer.box(healthX, healthY, 0,
+                healthWidth, healthHeight, 0);
+
+        renderer.setColor(Color.GREEN);
+        renderer.box(healthX, healthY, 0,
+                healthWidth * healthPercent, healthHeight, 0);
+
+        renderer.end();
+
+        renderer.setColor(oldColor);
+    }
+
+    /**
+     * Sets how far the renderer is between the previous and the current
+     * physics state, where 0 is the previous tick and 1 is the latest one.
+     */
+    public void setInterpolationAlpha(float alpha) {
+        interpolationAlpha = alpha;
+    }
+
+    public float getRenderX() {
+        float previousX = character.getPreviousX();
+        return previousX + (character.getX() - previousX) * interpolationAlpha;
+    }
+
+    public float getRenderY() {
+        float previousY = character.getPreviousY();
+        return previousY + (character.getY() - previousY) * interpolationAlpha;
+    }
+
+    // == Private methods ==
+    private void updateRegion() {
+        AnimationDef def = character.getCurrentState().getAnimation(character);
+
+        // States without an animation keep showing the last frame
+        if (def == null) return;
+
+        Animation<AtlasRegion> animation = animations.get(def, character.getFacing());
+
+        currentRegion = animation.getKeyFrame(character.getStateTime());
+    }
+}
@@ -1,5 +1,7 @@
 package com.fighter.screen.game;
 
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.graphics.Color;
@@ -7,37 +9,41 @@ import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.physics.box2d.Box2DDebugRenderer;
-import com.badlogic.gdx.physics.box2d.Contact;
-import com.badlogic.gdx.physics.box2d.ContactImpulse;
-import com.badlogic.gdx.physics.box2d.ContactListener;
-import com.badlogic.gdx.physics.box2d.Manifold;
-import com.badlogic.gdx.physics.box2d.World;
-import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.Stage;
-import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Logger;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import com.fighter.FighterGame;
+import com.fighter.ai.AI;
+import com.fighter.ai.AiScheduler;
+import com.fighter.ai.MatchView;
 import com.fighter.assets.AssetDescriptors;
+import com.fighter.assets.CharacterBundles;
 import com.fighter.config.GameConfig;
-import com.fighter.entity.AI;
 import com.fighter.entity.CharacterBase;
-import com.fighter.entity.Player;
-import com.fighter.map.MapLayout;
+import com.fighter.input.InputController;
+import com.fighter.input.KeyboardInput;
+import com.fighter.simulation.MatchSimulation;
 import com.fighter.utils.GdxUtils;
 import com.fighter.utils.ViewportUtils;
 import com.fighter.utils.debug.DebugCameraController;
+import com.fighter.utils.debug.FrameProfiler;
 
 public class GameScreen implements Screen {
 
     // == Constants ==
     private static final Logger LOG = new Logger(GameScreen.class.getName(), Logger.DEBUG);
 
+    private static final int PROFILER_TOGGLE_KEY = Input.Keys.F3;
+    private static final int PROFILER_DUMP_KEY = Input.Keys.F4;
+    private static final String PROFILER_CSV = "profiler.csv";
+
     // == Attributes ==
     private final FighterGame game;
     private final AssetManager assetManager;
+    private final CharacterBundles characterBundles;
 
     private OrthographicCamera camera;
     private OrthographicCamera hudCamera;
@@ -51,22 +57,40 @@ public class GameScreen implements Screen {
     private DebugCameraController dbc;
     private Box2DDebugRenderer debugRenderer;
 
-    private World world;
+    private MatchSimulation simulation;
+    private KeyboardInput keyboardInput;
+    private final InputController[] controllers = new InputController[MatchSimulation.MAX_PLAYERS];
+    private final int[] inputs = new int[MatchSimulation.MAX_PLAYERS];
+
+    // Serial on every platform, desktop included: a match has one AI, which
+    // a ParallelAiScheduler could only slow down with the hand-off to its
+    // pool, and Android below 5 has no ForkJoinPool
+    private final AiScheduler aiScheduler = new AiScheduler(GameConfig.AI_BUDGET_MICROS);
 
-    private ContactListener contactListener = new MyContactListener();
+    private MapView mapView;
+    private CharacterView playerView;
+    private CharacterView enemyView;
 
-    private MapLayout map;
-    private Player player;
-    private AI enemy;
+    private float accumulator;
 
-    private Array<Actor> entities = new Array<Actor>();
+    private FrameProfiler profiler;
+    private int inputPhase;
+    private int aiPhase;
+    private int stagePhase;
+    private int healthPhase;
+    private int gridPhase;
+    private int box2dDebugPhase;
 
     // == Constructors ==
     public GameScreen(FighterGame game) {
         this.game = game;
         this.assetManager = game.getAssetManager();
         this.batch = game.getBatch();
-        this.world = game.getWorld();
+        this.characterBundles = game.getCharacterBundles();
+
+        // Before the loading screen lets go of them
+        characterBundles.acquire(MatchSimulation.DEFAULT_PLAYER);
+        characterBundles.acquire(MatchSimulation.DEFAULT_ENEMY);
     }
 
     // == Public methods ===
@@ -76,8 +100,6 @@ public class GameScreen implements Screen {
         dbc = new DebugCameraController();
         dbc.setStartPosition(GameConfig.WORLD_CENTER_X, GameConfig.WORLD_CENTER_Y);
 
-        world.setContactListener(contactListener);
-
         font = assetManager.get(AssetDescriptors.TEST_FONT);
 
         camera = new OrthographicCamera();
@@ -87,36 +109,74 @@ public class GameScreen implements Screen {
         viewport = new FitViewport(GameConfig.WORLD_WIDTH, GameConfig.WORLD_HEIGHT, camera);
         renderer = new ShapeRenderer();
         stage = new Stage(viewport, batch);
-        enemy = new AI(assetManager, world, entities.size + 1);
-        entities.add(enemy);
-
-        player = new Player(assetManager, world, entities.size + 1);
-        entities.add(player);
-
-        map = new MapLayout(game, world);
 
-        stage.addActor(map.getBackground());
-        stage.addActor(player);
-        stage.addActor(enemy);
-        map.addToStage(stage);
+        simulation = new MatchSimulation(game.getCharacters(), assetManager.get(AssetDescriptors.TEST_MAP_DEF));
+        keyboardInput = new KeyboardInput();
+
+        controllers[MatchSimulation.PLAYER_SLOT] = keyboardInput;
+        AI enemyAi = new AI(new MatchView(simulation), MatchSimulation.ENEMY_SLOT);
+        aiScheduler.add(enemyAi);
+        controllers[MatchSimulation.ENEMY_SLOT] = enemyAi;
+
+        profiler = new FrameProfiler(game.getGcCounter());
+        inputPhase = profiler.addPhase("input");
+        aiPhase = profiler.addPhase("ai");
+        simulation.setProfiler(profiler);
+        stagePhase = profiler.addPhase("stageDraw");
+        healthPhase = profiler.addPhase("healthBars");
+        gridPhase = profiler.addPhase("grid");
+        box2dDebugPhase = profiler.addPhase("box2dDebug");
+
+        CharacterBase player = simulation.getPlayerCharacter();
+        CharacterBase enemy = simulation.getEnemyCharacter();
+        playerView = new CharacterView(player, characterBundles.getAnimations(player.getArchetype()));
+        enemyView = new CharacterView(enemy, characterBundles.getAnimations(enemy.getArchetype()));
+        mapView = new MapView(simulation.getMap(), assetManager.get(AssetDescriptors.TEST_MAP));
+        mapView.buildCache();
+
+        stage.addActor(mapView.getBackground());
+        stage.addActor(playerView);
+        stage.addActor(enemyView);
+        stage.addActor(mapView);
     }
 
     @Override
     public void render(float delta) {
+        handleProfilerInput();
+
+        profiler.begin(inputPhase);
         dbc.handleDebugInput(delta);
+        followFighters();
         dbc.applyTo(camera);
+        keyboardInput.poll();
+        profiler.end(inputPhase);
+
         GdxUtils.clearScreen();
 
+        update(delta);
+
+        float halfViewWidth = camera.viewportWidth * camera.zoom / 2f;
+        mapView.setVisibleRange(camera.position.x - halfViewWidth, camera.position.x + halfViewWidth);
+
         viewport.apply();
         renderGameplay();
 
-        //map.renderDebug(renderer, viewport, camera);
+        //mapView.renderDebug(renderer, viewport, camera);
 
+        profiler.begin(gridPhase);
         renderDebug();
-        debugRenderer.render(world, camera.combined);
+        profiler.end(gridPhase);
+
+        profiler.begin(box2dDebugPhase);
+        debugRenderer.render(simulation.getWorld(), camera.combined);
+        profiler.end(box2dDebugPhase);
 
-        // TODO Update timeStep to be variable - not static
-        world.step(1 / 60f, 6, 2);
+        profiler.recordWorld(simulation.getWorld());
+        profiler.endFrame();
+
+        hudViewport.apply();
+        profiler.drawGraph(renderer, hudCamera);
+        profiler.drawText(batch, font, hudCamera);
     }
 
     @Override
@@ -144,9 +204,69 @@ public class GameScreen implements Screen {
     @Override
     public void dispose() {
         renderer.dispose();
+        mapView.dispose();
+        simulation.dispose();
+
+        characterBundles.release(MatchSimulation.DEFAULT_PLAYER);
+        characterBundles.release(MatchSimulation.DEFAULT_ENEMY);
     }
 
     // == Private methods ==
+    private void update(float delta) {
+        accumulator += delta;
+
+        // Run as many fixed ticks as the elapsed time allows, capped so a slow
+        // frame can't make us fall further and further behind
+        int ticks = 0;
+        while (accumulator >= GameConfig.TIME_STEP && ticks < GameConfig.MAX_TICKS_PER_FRAME) {
+            tick();
+            accumulator -= GameConfig.TIME_STEP;
+            ++ticks;
+        }
+
+        // Drop whatever time we could not catch up on
+        if (accumulator >= GameConfig.TIME_STEP) {
+            accumulator %= GameConfig.TIME_STEP;
+        }
+
+        float alpha = accumulator / GameConfig.TIME_STEP;
+        enemyView.setInterpolationAlpha(alpha);
+        playerView.setInterpolationAlpha(alpha);
+    }
+
+    // Every controller is sampled exactly once per tick
+    private void tick() {
+        profiler.begin(aiPhase);
+        aiScheduler.update();
+        profiler.end(aiPhase);
+
+        for (int i = 0; i < controllers.length; ++i) {
+            inputs[i] = controllers[i].sample();
+        }
+        simulation.tick(inputs);
+    }
+
+    // Stages wider than the screen scroll to keep the fighters in the middle
+    private void followFighters() {
+        float stageWidth = simulation.getMap().getDef().getWidth();
+        if (stageWidth <= GameConfig.WORLD_WIDTH) return;
+
+        float middle = (simulation.getPlayerCharacter().getX() + simulation.getEnemyCharacter().getX()) / 2f;
+        float halfWidth = GameConfig.WORLD_WIDTH / 2f;
+        dbc.setPosition(MathUtils.clamp(middle, halfWidth, stageWidth - halfWidth), camera.position.y);
+    }
+
+    private void handleProfilerInput() {
+        if (Gdx.input.isKeyJustPressed(PROFILER_TOGGLE_KEY)) {
+            profiler.toggle();
+        }
+
+        if (profiler.isEnabled() && Gdx.input.isKeyJustPressed(PROFILER_DUMP_KEY)) {
+            profiler.writeCsv(Gdx.files.local(PROFILER_CSV));
+            LOG.debug("Wrote profiler frames to " + PROFILER_CSV);
+        }
+    }
+
     private void renderDebug() {
         viewport.apply();
 
@@ -165,10 +285,10 @@ public class GameScreen implements Screen {
 
         renderer.setColor(Color.MAGENTA);
         renderer.rect(
-                player.getX(),
-                player.getY(),
-                player.getWidth(),
-                player.getHeight()
+                playerView.getRenderX(),
+                playerView.getRenderY(),
+                playerView.getWidth(),
+                playerView.getHeight()
         );
 
         renderer.setColor(oldColor);
@@ -177,66 +297,18 @@ public class GameScreen implements Screen {
     private void renderGameplay() {
         batch.setProjectionMatrix(camera.combined);
 
+        profiler.begin(stagePhase);
         stage.draw();
-        stage.act();
+        profiler.end(stagePhase);
 
-        batch.setProjectionMatrix(hudCamera.combined);
+        // Only the world is counted, not the health bars and HUD
+        profiler.recordBatch(batch);
 
-        enemy.drawHealth(renderer, hudCamera, camera);
-        player.drawHealth(renderer, hudCamera, camera);
-    }
-
-    // Contact Listener to check if foot sensor is colliding with ground
-    public class MyContactListener implements ContactListener {
-        @Override
-        public void beginContact(Contact contact) {
-            //check if fixture A was the foot sensor
-            Object fixtureUserData = contact.getFixtureA().getUserData();
-            if (fixtureUserData == null) return;
-
-            if (fixtureUserData instanceof Integer) {
-                CharacterBase character = (CharacterBase) contact.getFixtureA().getBody().getUserData();
-                ++character.numFootContacts;
-            }
-            //check if fixture B was the foot sensor
-            fixtureUserData = contact.getFixtureB().getUserData();
-            if (fixtureUserData == null) return;
-
-            if (fixtureUserData instanceof Integer) {
-                CharacterBase character = (CharacterBase) contact.getFixtureB().getBody().getUserData();
-                ++character.numFootContacts;
-            }
-        }
-
-        @Override
-        public void endContact(Contact contact) {
-            //check if fixture A was the foot sensor
-            Object fixtureUserData = contact.getFixtureA().getUserData();
-            if (fixtureUserData == null) return;
-
-            if (fixtureUserData instanceof Integer) {
-                CharacterBase character = (CharacterBase) contact.getFixtureA().getBody().getUserData();
-                --character.numFootContacts;
-            }
-
-            //check if fixture B was the foot sensor
-            fixtureUserData = contact.getFixtureB().getUserData();
-            if (fixtureUserData == null) return;
-
-            if (fixtureUserData instanceof Integer) {
-                CharacterBase character = (CharacterBase) contact.getFixtureB().getBody().getUserData();
-                --character.numFootContacts;
-            }
-        }
-
-        @Override
-        public void preSolve(Contact contact, Manifold manifold) {
-
-        }
-
-        @Override
-        public void postSolve(Contact contact, ContactImpulse contactImpulse) {
+        batch.setProjectionMatrix(hudCamera.combined);
 
-        }
+        profiler.begin(healthPhase);
+        enemyView.drawHealth(renderer, hudCamera, camera);
+        playerView.drawHealth(renderer, hudCamera, camera);
+        profiler.end(healthPhase);
     }
 }
@@ -0,0 +1,362 @@
+package com.fighter.screen.game;
+
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.viewport.Viewport;
+import com.fighter.config.GameConfig;
+import com.fighter.map.MapDef;
+import com.fighter.map.MapLayout;
+
+/**
+ * Draws the background and the tiles of a {@link MapLayout}. The map
+ * never moves, so the tiles are laid out once, grouped by the chunks of the
+ * map. Only the chunks near the camera are drawn, see
+ * {@link #setVisibleRange(float, float)}, and after {@link #buildCache()}
+ * only they are uploaded into a {@link SpriteCache}, which draws the
+ * background and each visible chunk with one call.
+ */
+public class MapView extends Actor implements Disposable {
+
+    // == Attributes ==
+    private MapLayout map;
+
+    // Regions of the map atlas by name
+    private final ObjectMap<String, TextureRegion> regions;
+    private TextureRegion backgroundRegion;
+
+    private final Actor background = new BackgroundActor();
+    private final Matrix4 backgroundTransform = new Matrix4();
+
+    private final Array<Chunk> chunks = new Array<Chunk>();
+
+    // What the camera sees, in world units
+    private float visibleLeft;
+    private float visibleRight = GameConfig.WORLD_WIDTH;
+
+    // Holds the background and the visible chunks, null until buildCache()
+    private SpriteCache cache;
+    private int cacheCapacity;
+    private int backgroundCacheId;
+
+    // == Constructors ==
+    public MapView(MapLayout map, TextureAtlas mapAtlas) {
+        this(map, findRegions(map.getDef(), mapAtlas));
+    }
+
+    public MapView(MapLayout map, ObjectMap<String, TextureRegion> regions) {
+        this.regions = regions;
+
+        background.setSize(GameConfig.WORLD_WIDTH, GameConfig.WORLD_HEIGHT);
+
+        setMap(map);
+    }
+
+    // == Public methods ==
+
+    /**
+     * Uploads the visible part of the map into a {@link SpriteCache}. Needs a
+     * GL context, until then the tiles are drawn through the batch.
+     */
+    public void buildCache() {
+        dispose();
+        fillCache();
+    }
+
+    // Lays the tiles out again and rebuilds the cache if there is one
+    public void setMap(MapLayout map) {
+        this.map = map;
+
+        MapDef def = map.getDef();
+        backgroundRegion = getRegion(def.getBackground());
+
+        chunks.truncate(def.getChunkCount());
+        while (chunks.size < def.getChunkCount()) {
+            chunks.add(new Chunk());
+        }
+        for (Chunk chunk : chunks) {
+            chunk.clear();
+        }
+
+        for (MapDef.Tile tile : def.getTiles()) {
+            layoutTiled(getRegion(tile.getRegion()),
+                    tile.getX(), tile.getY(),
+                    tile.getWidth(), tile.getHeight());
+        }
+
+        updateVisibleChunks();
+
+        if (cache != null) {
+            buildCache();
+        }
+    }
+
+    /**
+     * Tells the map what the camera sees. Chunks within
+     * {@link GameConfig#CHUNK_ACTIVATION_RANGE} of it are drawn, and dropped
+     * from the cache once they are beyond {@link GameConfig#CHUNK_RELEASE_RANGE}.
+     */
+    public void setVisibleRange(float left, float right) {
+        visibleLeft = left;
+        visibleRight = right;
+
+        if (updateVisibleChunks() && cache != null) {
+            fillCache();
+        }
+    }
+
+    @Override
+    public void draw(Batch batch, float parentAlpha) {
+        if (cache != null) {
+            beginCached(batch, batch.getTransformMatrix());
+            for (Chunk chunk : chunks) {
+                if (chunk.cacheId >= 0) cache.draw(chunk.cacheId);
+            }
+            endCached(batch);
+            return;
+        }
+
+        for (Chunk chunk : chunks) {
+            if (!chunk.visible) continue;
+
+            FloatArray tiles = chunk.tiles;
+            for (int i = 0; i < chunk.regions.size; ++i) {
+                int offset = i * 4;
+                batch.draw(chunk.regions.get(i),
+                        tiles.get(offset), tiles.get(offset + 1),
+                        getOriginX(), getOriginY(),
+                        tiles.get(offset + 2), tiles.get(offset + 3),
+                        getScaleX(), getScaleY(),
+                        getRotation()
+                );
+            }
+        }
+    }
+
+    // Goes behind the characters, while this actor goes in front of them
+    public Actor getBackground() {
+        return background;
+    }
+
+    public int getVisibleChunkCount() {
+        int count = 0;
+        for (Chunk chunk : chunks) {
+            if (chunk.visible) ++count;
+        }
+        return count;
+    }
+
+    public void renderDebug(ShapeRenderer renderer, Viewport viewport, OrthographicCamera camera) {
+        viewport.apply();
+
+        renderer.setProjectionMatrix(camera.combined);
+        renderer.begin(ShapeRenderer.ShapeType.Filled);
+
+        // The merged solids, as Box2D sees them
+        for (Rectangle solid : map.getDef().getSolids()) {
+            renderer.rect(solid.x, solid.y, solid.width, solid.height);
+        }
+
+        renderer.end();
+    }
+
+    @Override
+    public void dispose() {
+        if (cache != null) {
+            cache.dispose();
+            cache = null;
+        }
+    }
+
+    // == Private Methods ==
+    private static ObjectMap<String, TextureRegion> findRegions(MapDef def, TextureAtlas atlas) {
+        ObjectMap<String, TextureRegion> regions = new ObjectMap<String, TextureRegion>();
+        regions.put(def.getBackground(), atlas.findRegion(def.getBackground()));
+
+        for (MapDef.Tile tile : def.getTiles()) {
+            if (!regions.containsKey(tile.getRegion())) {
+                regions.put(tile.getRegion(), atlas.findRegion(tile.getRegion()));
+            }
+        }
+        return regions;
+    }
+
+    private TextureRegion getRegion(String name) {
+        TextureRegion region = regions.get(name);
+        if (region == null) throw new GdxRuntimeException("Map region not found: " + name);
+        return region;
+    }
+
+    // Returns true if a chunk came into view or was dropped
+    private boolean updateVisibleChunks() {
+        // The background follows the camera, but never past the ends of the stage
+        float maxBackgroundX = Math.max(0, map.getDef().getWidth() - background.getWidth());
+        background.setX(MathUtils.clamp(visibleLeft, 0, maxBackgroundX));
+
+        float chunkWidth = map.getDef().getChunkWidth();
+        boolean changed = false;
+
+        for (int i = 0; i < chunks.size; ++i) {
+            Chunk chunk = chunks.get(i);
+            float left = i * chunkWidth;
+            float right = left + chunkWidth;
+
+            if (!chunk.visible) {
+                if (right >= visibleLeft - GameConfig.CHUNK_ACTIVATION_RANGE
+                        && left <= visibleRight + GameConfig.CHUNK_ACTIVATION_RANGE) {
+                    chunk.visible = true;
+                    changed = true;
+                }
+            } else if (right < visibleLeft - GameConfig.CHUNK_RELEASE_RANGE
+                    || left > visibleRight + GameConfig.CHUNK_RELEASE_RANGE) {
+                chunk.visible = false;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    // Puts the background and the visible chunks into the cache, which only
+    // grows when more tiles are in view than ever before
+    private void fillCache() {
+        int size = 1;
+        for (Chunk chunk : chunks) {
+            if (chunk.visible) size += chunk.regions.size;
+        }
+
+        if (cache == null || size > cacheCapacity) {
+            dispose();
+            cache = new SpriteCache(size, false);
+            cacheCapacity = size;
+        }
+        cache.clear();
+
+        // At the origin, moved along with the background actor when drawn
+        cache.beginCache();
+        cache.add(backgroundRegion, 0, 0, background.getWidth(), background.getHeight());
+        backgroundCacheId = cache.endCache();
+
+        for (Chunk chunk : chunks) {
+            chunk.cacheId = -1;
+            if (!chunk.visible || chunk.regions.size == 0) continue;
+
+            FloatArray tiles = chunk.tiles;
+            cache.beginCache();
+            for (int i = 0; i < chunk.regions.size; ++i) {
+                int offset = i * 4;
+                cache.add(chunk.regions.get(i),
+                        tiles.get(offset), tiles.get(offset + 1),
+                        getOriginX(), getOriginY(),
+                        tiles.get(offset + 2), tiles.get(offset + 3),
+                        getScaleX(), getScaleY(),
+                        getRotation());
+            }
+            chunk.cacheId = cache.endCache();
+        }
+    }
+
+    private void layoutTiled(TextureRegion region,
+                             float xStart, float yStart, float width, float height) {
+        // If width is < 1, draw texture with that width
+        if (width < 1) {
+            addTile(region, xStart, yStart, width, height);
+            return;
+        }
+
+        // If width > 1, repeatedly draw texture at given breakpoint
+        float breakPoint = width / (width + 1);
+
+        for (float i = xStart; i < (width + xStart); i += breakPoint) {
+            float currWidth = breakPoint;
+            float diffNextIteration = (width + xStart) - (i + breakPoint);
+            float tolerance = 0.001f;
+
+            // Check if remaining width of next iteration is < breakPoint
+            if (diffNextIteration < breakPoint - tolerance) {
+                // If width of next iteration is close to currWidth (diff of 0.2f),
+                // then draw at that width in next iteration
+                if (Math.abs(diffNextIteration - currWidth) <= 0.2f) {
+                    addTile(region, i, yStart, currWidth, height);
+                    continue;
+                }
+
+                // If width of next iteration is too small, add it to current breakPoint
+                currWidth = breakPoint + diffNextIteration;
+                addTile(region, i, yStart, currWidth, height);
+                return;
+            }
+            addTile(region, i, yStart, currWidth, height);
+        }
+    }
+
+    // A tile belongs to the chunk it starts in
+    private void addTile(TextureRegion region, float x, float y, float width, float height) {
+        Chunk chunk = chunks.get(map.getDef().getChunk(x));
+        chunk.tiles.add(x);
+        chunk.tiles.add(y);
+        chunk.tiles.add(width);
+        chunk.tiles.add(height);
+        chunk.regions.add(region);
+    }
+
+    // SpriteCache has its own shader, so the batch is paused around it
+    private void beginCached(Batch batch, Matrix4 transform) {
+        batch.end();
+
+        cache.setProjectionMatrix(batch.getProjectionMatrix());
+        cache.setTransformMatrix(transform);
+        cache.begin();
+    }
+
+    private void endCached(Batch batch) {
+        cache.end();
+        batch.begin();
+    }
+
+    // == Chunk ==
+    private static class Chunk {
+
+        // Laid out tiles as x, y, width, height and the region of each
+        final FloatArray tiles = new FloatArray();
+        final Array<TextureRegion> regions = new Array<TextureRegion>();
+
+        boolean visible;
+        int cacheId = -1;
+
+        void clear() {
+            tiles.clear();
+            regions.clear();
+            visible = false;
+            cacheId = -1;
+        }
+    }
+
+    // == Background ==
+    private class BackgroundActor extends Actor {
+
+        @Override
+        public void draw(Batch batch, float parentAlpha) {
+            if (cache != null) {
+                backgroundTransform.set(batch.getTransformMatrix()).translate(getX(), getY(), 0);
+                beginCached(batch, backgroundTransform);
+                cache.draw(backgroundCacheId);
+                endCached(batch);
+                return;
+            }
+
+            batch.draw(backgroundRegion, getX(), getY(), getWidth(), getHeight());
+        }
+    }
+}
@@ -2,21 +2,39 @@ package com.fighter.screen.loading;
 
 import com.badlogic.gdx.ScreenAdapter;
 import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Logger;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import com.fighter.FighterGame;
 import com.fighter.assets.AssetDescriptors;
+import com.fighter.assets.AssetLoadingService;
+import com.fighter.assets.CharacterBundles;
 import com.fighter.config.GameConfig;
+import com.fighter.entity.CharacterArchetype;
+import com.fighter.entity.CharacterRegistry;
 import com.fighter.screen.game.GameScreen;
+import com.fighter.simulation.MatchSimulation;
 import com.fighter.utils.GdxUtils;
 
+/**
+ * Shows loading progress until every asset the game screen needs is in,
+ * then switches straight to it. The font only labels the progress bar, so
+ * the bar is drawn without text until the font has loaded.
+ * The match characters' bundles are held until the game screen has
+ * acquired them itself. The rest of the roster is prefetched as soon as
+ * the registry is in, and keeps loading behind the game screen.
+ */
 public class LoadingScreen extends ScreenAdapter {
 
+    private static final Logger LOG = new Logger(LoadingScreen.class.getName(), Logger.DEBUG);
+
     // == Constants ==
     private static final float PROGRESS_BAR_WIDTH = GameConfig.HUD_WIDTH / 2f;
     private static final float PROGRESS_BAR_HEIGHT = GameConfig.HUD_HEIGHT / 8f;
@@ -31,15 +49,20 @@ public class LoadingScreen extends ScreenAdapter {
     private SpriteBatch batch;
 
     private float progress;
-    private float waitTime = 0.75f;
+    private long showMillis;
+    private boolean rosterPrefetched;
 
     private final FighterGame game;
     private final AssetManager assetManager;
+    private final AssetLoadingService assetLoader;
+    private final CharacterBundles characterBundles;
 
     // == Constructors ==
     public LoadingScreen(FighterGame game) {
         this.game = game;
         this.assetManager = game.getAssetManager();
+        this.assetLoader = game.getAssetLoader();
+        this.characterBundles = game.getCharacterBundles();
     }
 
     // == Public methods ==
@@ -50,13 +73,15 @@ public class LoadingScreen extends ScreenAdapter {
         renderer = new ShapeRenderer();
         batch = new SpriteBatch();
 
-        assetManager.load(AssetDescriptors.TEST_FONT);
-        assetManager.finishLoading();
-
-        assetManager.load(AssetDescriptors.TEST_PLAYER);
-        assetManager.load(AssetDescriptors.TEST_MAP);
+        showMillis = TimeUtils.millis();
 
-        font = assetManager.get(AssetDescriptors.TEST_FONT);
+        // In the order they are needed, the font first for the progress text
+        assetLoader.load(AssetDescriptors.TEST_FONT, AssetLoadingService.Priority.CRITICAL);
+        assetLoader.load(AssetDescriptors.CHARACTERS, AssetLoadingService.Priority.CRITICAL);
+        characterBundles.acquire(MatchSimulation.DEFAULT_PLAYER);
+        characterBundles.acquire(MatchSimulation.DEFAULT_ENEMY);
+        assetLoader.load(AssetDescriptors.TEST_MAP_DEF, AssetLoadingService.Priority.CRITICAL);
+        assetLoader.load(AssetDescriptors.TEST_MAP, AssetLoadingService.Priority.CRITICAL);
     }
 
     @Override
@@ -74,6 +99,7 @@ public class LoadingScreen extends ScreenAdapter {
         renderer.end();
 
         if (changeScreen) {
+            LOG.debug("Critical assets loaded in " + TimeUtils.timeSinceMillis(showMillis) + " ms");
             game.setScreen(new GameScreen(game));
         }
     }
@@ -86,6 +112,10 @@ public class LoadingScreen extends ScreenAdapter {
 
     @Override
     public void hide() {
+        // The game screen holds the characters by now
+        characterBundles.release(MatchSimulation.DEFAULT_PLAYER);
+        characterBundles.release(MatchSimulation.DEFAULT_ENEMY);
+
         // Note: Screens don't dispose automatically
         dispose();
     }
@@ -97,16 +127,31 @@ public class LoadingScreen extends ScreenAdapter {
 
     // == Private methods ==
     private void update(float delta) {
-        // Progress is between 0 - 1
-        progress = assetManager.getProgress();
+        // FighterGame drives the loading itself, this only watches it
+        progress = assetLoader.getCriticalProgress();
+
+        if (font == null && assetManager.isLoaded(AssetDescriptors.TEST_FONT.fileName)) {
+            font = assetManager.get(AssetDescriptors.TEST_FONT);
+        }
 
-        // True <=> all assets are loaded
-        if (assetManager.update()) {
-            waitTime -= delta;
+        // The registry is critical, so this runs no later than the frame
+        // the critical set completes on
+        if (!rosterPrefetched && assetManager.isLoaded(AssetDescriptors.CHARACTERS.fileName)) {
+            prefetchRoster(assetManager.get(AssetDescriptors.CHARACTERS));
+            rosterPrefetched = true;
+        }
+
+        changeScreen = assetLoader.isCriticalLoaded();
+    }
 
-            if (waitTime <= 0) {
-                changeScreen = true;
-            }
+    // Every character the match doesn't use, for a quick character select
+    private void prefetchRoster(CharacterRegistry characters) {
+        Array<CharacterArchetype> archetypes = characters.getArchetypes();
+        for (int i = 0; i < archetypes.size; ++i) {
+            String name = archetypes.get(i).getName();
+            if (name.equals(MatchSimulation.DEFAULT_PLAYER) || name.equals(MatchSimulation.DEFAULT_ENEMY)) continue;
+
+            characterBundles.prefetch(name);
         }
     }
 
@@ -122,6 +167,8 @@ public class LoadingScreen extends ScreenAdapter {
     }
 
     private void drawText(float x, float y) {
+        if (font == null) return;
+
         String text = "Loading Assets: " + MathUtils.round(progress * 100) + "%";
 
         batch.setProjectionMatrix(camera.combined);
@@ -0,0 +1,43 @@
+package com.fighter.simulation;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.fighter.entity.CharacterStateStore;
+import com.fighter.simulation.component.ControlComponent;
+import com.fighter.simulation.component.Mappers;
+
+/**
+ * Runs the character logic of the whole store in one pass, then the input
+ * state machine of every controlled entity from the frame of its slot.
+ */
+public class ControlSystem extends SimulationSystem {
+
+    // == Attributes ==
+    private final CharacterStateStore states;
+    private ImmutableArray<Entity> entities;
+
+    // == Constructors ==
+    public ControlSystem(CharacterStateStore states) {
+        super("control", CONTROL_PRIORITY);
+        this.states = states;
+    }
+
+    // == Public methods ==
+    @Override
+    public void addedToEngine(Engine engine) {
+        entities = engine.getEntitiesFor(Family.all(ControlComponent.class).get());
+    }
+
+    // == Protected methods ==
+    @Override
+    protected void process(float deltaTime) {
+        states.update(deltaTime);
+
+        for (int i = 0; i < entities.size(); ++i) {
+            ControlComponent control = Mappers.CONTROL.get(entities.get(i));
+            control.player.updateInput(control.input);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.fighter.simulation;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Bits;
+import com.fighter.entity.CharacterBase;
+import com.fighter.entity.HitboxDef;
+import com.fighter.simulation.component.CharacterComponent;
+import com.fighter.simulation.component.Mappers;
+
+/**
+ * Resolves attacks once per tick. Active hitboxes are tested only against
+ * the hurtboxes of the other characters, using a sort-and-sweep broadphase
+ * on x, and every target is hit at most once per swing.
+ * <p>
+ * Characters are indexed in the order their entities joined the engine,
+ * which is also how the hit targets of a swing are numbered.
+ */
+public class HitboxSystem extends SimulationSystem {
+
+    // == Attributes ==
+    private ImmutableArray<Entity> entities;
+
+    // Hurtbox AABBs by character index
+    private float[] hurtMinX = new float[0];
+    private float[] hurtMaxX = new float[0];
+    private float[] hurtMinY = new float[0];
+    private float[] hurtMaxY = new float[0];
+
+    // Character indices sorted by hurtbox minX
+    private int[] order = new int[0];
+    private int count;
+
+    private float maxHurtWidth;
+
+    // == Constructors ==
+    public HitboxSystem() {
+        super("hitboxes", HITBOX_PRIORITY);
+    }
+
+    // == Public methods ==
+    @Override
+    public void addedToEngine(Engine engine) {
+        entities = engine.getEntitiesFor(Family.all(CharacterComponent.class).get());
+    }
+
+    // == Protected methods ==
+    @Override
+    protected void process(float deltaTime) {
+        updateHurtboxes();
+
+        for (int i = 0; i < count; ++i) {
+            CharacterBase attacker = getCharacter(i);
+            if (!attacker.isAttacking()) continue;
+
+            Array<HitboxDef> hitboxes = attacker.getAttackHitboxes();
+            int frameIndex = attacker.getAttackFrameIndex();
+
+            for (int j = 0; j < hitboxes.size; ++j) {
+                HitboxDef hitbox = hitboxes.get(j);
+                if (hitbox.isActive(frameIndex)) {
+                    resolve(attacker, i, hitbox);
+                }
+            }
+        }
+    }
+
+    // == Private methods ==
+    private void updateHurtboxes() {
+        ensureCapacity(entities.size());
+        maxHurtWidth = 0;
+
+        for (int i = 0; i < count; ++i) {
+            CharacterBase character = getCharacter(i);
+            float halfWidth = character.getCharacterWidth() / 2f;
+            float halfHeight = character.getCharacterHeight() / 2f;
+
+            hurtMinX[i] = character.getX() - halfWidth;
+            hurtMaxX[i] = character.getX() + halfWidth;
+            hurtMinY[i] = character.getY() - halfHeight;
+            hurtMaxY[i] = character.getY() + halfHeight;
+
+            maxHurtWidth = Math.max(maxHurtWidth, halfWidth * 2f);
+        }
+
+        // Characters barely move between ticks, so the previous order is
+        // almost sorted and insertion sort is close to linear
+        for (int i = 1; i < count; ++i) {
+            int index = order[i];
+            float minX = hurtMinX[index];
+            int j = i - 1;
+
+            while (j >= 0 && hurtMinX[order[j]] > minX) {
+                order[j + 1] = order[j];
+                --j;
+            }
+            order[j + 1] = index;
+        }
+    }
+
+    private void resolve(CharacterBase attacker, int attackerIndex, HitboxDef hitbox) {
+        float x = attacker.getX();
+        float y = attacker.getY();
+
+        float minX;
+        float maxX;
+        if (attacker.getFacing() == CharacterBase.Direction.RIGHT) {
+            minX = x + hitbox.getMinX();
+            maxX = x + hitbox.getMaxX();
+        } else {
+            minX = x - hitbox.getMaxX();
+            maxX = x - hitbox.getMinX();
+        }
+        float minY = y + hitbox.getMinY();
+        float maxY = y + hitbox.getMaxY();
+
+        Bits hitTargets = attacker.getHitTargets();
+
+        // No hurtbox starting before this can reach the hitbox
+        for (int k = firstCandidate(minX - maxHurtWidth); k < count; ++k) {
+            int target = order[k];
+            if (hurtMinX[target] > maxX) break;
+
+            if (target == attackerIndex || hitTargets.get(target)) continue;
+
+            if (hurtMaxX[target] >= minX && hurtMinY[target] <= maxY && hurtMaxY[target] >= minY) {
+                hitTargets.set(target);
+                getCharacter(target).takeDamage(attacker.getAttack(), attacker.getFacing());
+            }
+        }
+    }
+
+    private CharacterBase getCharacter(int index) {
+        return Mappers.CHARACTER.get(entities.get(index)).character;
+    }
+
+    // Binary search for the first sorted hurtbox with minX >= x
+    private int firstCandidate(float x) {
+        int low = 0;
+        int high = count;
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (hurtMinX[order[mid]] < x) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void ensureCapacity(int size) {
+        if (size > order.length) {
+            hurtMinX = new float[size];
+            hurtMaxX = new float[size];
+            hurtMinY = new float[size];
+            hurtMaxY = new float[size];
+            order = new int[size];
+        }
+
+        // New characters join the sort order at the end
+        for (int i = count; i < size; ++i) {
+            order[i] = i;
+        }
+        count = size;
+    }
+}
@@ -0,0 +1,395 @@
+package com.fighter.simulation;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntitySystem;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.CircleShape;
+import com.badlogic.gdx.physics.box2d.Contact;
+import com.badlogic.gdx.physics.box2d.ContactImpulse;
+import com.badlogic.gdx.physics.box2d.ContactListener;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.FixtureDef;
+import com.badlogic.gdx.physics.box2d.Manifold;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.fighter.config.GameConfig;
+import com.fighter.entity.BodyStateCache;
+import com.fighter.entity.CharacterBase;
+import com.fighter.entity.CharacterStats;
+import com.fighter.entity.CharacterArchetype;
+import com.fighter.entity.CharacterRegistry;
+import com.fighter.entity.CharacterStateStore;
+import com.fighter.entity.Player;
+import com.fighter.input.InputFrame;
+import com.fighter.map.MapDef;
+import com.fighter.map.MapLayout;
+import com.fighter.physics.CollisionMatrix;
+import com.fighter.physics.FixtureTag;
+import com.fighter.simulation.component.BodyComponent;
+import com.fighter.simulation.component.CharacterComponent;
+import com.fighter.simulation.component.ControlComponent;
+import com.fighter.utils.debug.FrameProfiler;
+
+/**
+ * Match logic without any rendering or {@code Gdx.*} dependencies. Owns the
+ * physics world, the map bodies and the characters and advances them one
+ * fixed tick at a time, so it can run headless as fast as the CPU allows.
+ * <p>
+ * A tick reads nothing but the per-player input masks and the tick count,
+ * so two simulations fed the same input stream stay bit-identical, see
+ * {@link #checksum()}.
+ * <p>
+ * Every character is an entity of an Ashley {@link Engine}, and a tick is
+ * the engine running its {@link SimulationSystem}s in priority order:
+ * control, hitboxes, the world step and the stage chunks.
+ * <p>
+ * Slots past the two players are a crowd of extra fighters, for party
+ * modes and for measuring how a tick scales.
+ */
+public class MatchSimulation implements Disposable {
+
+    // == Constants ==
+    public static final int PLAYER_SLOT = 0;
+    public static final int ENEMY_SLOT = 1;
+    public static final int MAX_PLAYERS = 2;
+
+    private static final float PLAYER_START_X = (GameConfig.WORLD_WIDTH - 1) / 2f;
+    private static final float ENEMY_START_X = PLAYER_START_X + 3f;
+    private static final float START_Y = 1f;
+
+    // Default matchup
+    public static final String DEFAULT_PLAYER = "knight";
+    public static final String DEFAULT_ENEMY = "test";
+
+    // == Attributes ==
+    private final World world;
+    private final MapLayout map;
+
+    private final Engine engine = new Engine();
+    private final StageSystem stageSystem;
+
+    // Positions and velocities of the characters as of the last step
+    private final BodyStateCache bodies = new BodyStateCache();
+
+    // The rest of their runtime state, packed the same way
+    private final CharacterStateStore states = new CharacterStateStore(bodies);
+
+    // Indexed by input slot
+    private final Player[] players;
+
+    private final Array<CharacterBase> characters = new Array<CharacterBase>();
+    private final InputFrame[] inputFrames;
+
+    private long tick;
+
+    // Foot contacts to put back after the first step following a restore
+    private final int[] restoredFootContacts;
+    private boolean restored;
+
+    // Restores that had to change the active chunks
+    private int chunkRestores;
+
+    // Throwaway fixture that makes Box2D look for new contacts, see restore
+    private final FixtureDef contactProbeDef = new FixtureDef();
+
+    // == Constructors ==
+    public MatchSimulation(CharacterRegistry characters, MapDef mapDef) {
+        this(characters, mapDef, MAX_PLAYERS);
+    }
+
+    public MatchSimulation(CharacterRegistry characters, MapDef mapDef, int fighters) {
+        this(characters.get(DEFAULT_PLAYER), characters.get(DEFAULT_PLAYER).getDefaultStats(),
+                characters.get(DEFAULT_ENEMY), characters.get(DEFAULT_ENEMY).getDefaultStats(), mapDef, fighters);
+    }
+
+    public MatchSimulation(CharacterArchetype playerArchetype, CharacterStats playerStats,
+                           CharacterArchetype enemyArchetype, CharacterStats enemyStats, MapDef mapDef) {
+        this(playerArchetype, playerStats, enemyArchetype, enemyStats, mapDef, MAX_PLAYERS);
+    }
+
+    /**
+     * A match with {@code fighters} input slots. The crowd past the two
+     * players alternates between their archetypes and stats, spread evenly
+     * over the stage.
+     */
+    public MatchSimulation(CharacterArchetype playerArchetype, CharacterStats playerStats,
+                           CharacterArchetype enemyArchetype, CharacterStats enemyStats, MapDef mapDef,
+                           int fighters) {
+        if (fighters < MAX_PLAYERS) {
+            throw new IllegalArgumentException("A match needs at least " + MAX_PLAYERS + " fighters");
+        }
+
+        players = new Player[fighters];
+        inputFrames = new InputFrame[fighters];
+        restoredFootContacts = new int[fighters];
+
+        // Sleep timers and warm starting impulses can't be saved, so neither
+        // is used, otherwise a restored match would drift from the original
+        world = new World(new Vector2(0, GameConfig.GRAVITY), false);
+        world.setWarmStarting(false);
+        world.setContactListener(new MyContactListener());
+
+        for (int i = 0; i < inputFrames.length; ++i) {
+            inputFrames[i] = new InputFrame();
+        }
+
+        stageSystem = new StageSystem(bodies);
+        engine.addSystem(new ControlSystem(states));
+        engine.addSystem(new HitboxSystem());
+        engine.addSystem(new PhysicsSystem(world, bodies));
+        engine.addSystem(stageSystem);
+
+        addCharacter(ENEMY_SLOT, enemyArchetype.create(world, states,
+                new Vector2(ENEMY_START_X, START_Y), enemyStats));
+        addCharacter(PLAYER_SLOT, playerArchetype.create(world, states,
+                new Vector2(PLAYER_START_X, START_Y), playerStats));
+
+        int crowd = fighters - MAX_PLAYERS;
+        for (int slot = MAX_PLAYERS; slot < fighters; ++slot) {
+            boolean enemySide = slot % 2 == ENEMY_SLOT;
+            float x = mapDef.getWidth() * (slot - MAX_PLAYERS + 0.5f) / crowd;
+
+            addCharacter(slot, (enemySide ? enemyArchetype : playerArchetype).create(world, states,
+                    new Vector2(x, START_Y), enemySide ? enemyStats : playerStats));
+        }
+
+        map = new MapLayout(world, mapDef, stageSystem.getMinX(), stageSystem.getMaxX());
+        stageSystem.setMap(map);
+
+        // Filtered out of every pair, it never touches anything
+        contactProbeDef.shape = new CircleShape();
+        contactProbeDef.isSensor = true;
+        CollisionMatrix.DEFAULT.apply(FixtureTag.PROBE, contactProbeDef.filter);
+    }
+
+    // == Public methods ==
+
+    /**
+     * Advances the match by one {@link GameConfig#TIME_STEP}.
+     *
+     * @param inputs one {@link InputFrame} button mask per input slot, at
+     *               least {@link #getFighterCount()} of them
+     */
+    public void tick(int[] inputs) {
+        for (int i = 0; i < inputFrames.length; ++i) {
+            inputFrames[i].set(inputs[i]);
+        }
+
+        engine.update(GameConfig.TIME_STEP);
+
+        if (restored) {
+            for (int i = 0; i < players.length; ++i) {
+                players[i].getCharacter().setFootContacts(restoredFootContacts[i]);
+            }
+            restored = false;
+        }
+
+        ++tick;
+    }
+
+    public void save(MatchSnapshot snapshot) {
+        snapshot.tick = tick;
+
+        for (int i = 0; i < players.length; ++i) {
+            players[i].save(snapshot.characters[i]);
+            snapshot.buttons[i] = inputFrames[i].getButtons();
+            snapshot.previousButtons[i] = inputFrames[i].getPreviousButtons();
+        }
+
+        if (snapshot.activeChunks.length != map.getChunkCount()) {
+            snapshot.activeChunks = new boolean[map.getChunkCount()];
+        }
+        map.saveActiveChunks(snapshot.activeChunks);
+    }
+
+    /**
+     * Puts the match back to the start of the saved tick.
+     * <p>
+     * Foot contacts come from Box2D contact events, and Box2D only updates
+     * contacts at the start of world.step. So during a tick the counts still
+     * describe the positions before the previous step. The same events have
+     * to fire again after a restore. A zero-length step syncs Box2D to the
+     * restored positions, and the counts that produces are held back until
+     * the next real step would have produced them.
+     * <p>
+     * setTransform only moves the broadphase proxies. Box2D looks for the new
+     * pairs at the end of a step, or at the start of one after a fixture was
+     * added, so a probe fixture is added and removed to get the contacts of
+     * the restored positions before the next tick, as the original run had.
+     * <p>
+     * The active chunks are put back as saved rather than worked out from
+     * the restored positions, see {@link MapLayout#restoreActiveChunks}.
+     */
+    public void restore(MatchSnapshot snapshot) {
+        // Restored twice without a tick, go back to the counts Box2D agrees with
+        if (restored) {
+            for (int i = 0; i < players.length; ++i) {
+                players[i].getCharacter().setFootContacts(restoredFootContacts[i]);
+            }
+        }
+
+        tick = snapshot.tick;
+
+        for (int i = 0; i < players.length; ++i) {
+            players[i].restore(snapshot.characters[i]);
+            inputFrames[i].restore(snapshot.buttons[i], snapshot.previousButtons[i]);
+        }
+
+        bodies.flush();
+        if (map.restoreActiveChunks(snapshot.activeChunks)) ++chunkRestores;
+
+        Body anchor = map.getAnchor();
+        Fixture contactProbe = anchor.createFixture(contactProbeDef);
+        anchor.destroyFixture(contactProbe);
+
+        world.step(0, 0, 0);
+
+        for (int i = 0; i < players.length; ++i) {
+            CharacterBase character = players[i].getCharacter();
+            restoredFootContacts[i] = character.getFootContacts();
+            character.setFootContacts(snapshot.characters[i].numFootContacts);
+        }
+        restored = true;
+    }
+
+    /**
+     * Times every system in a phase of its own, added to the profiler in the
+     * order the systems run. Pass null to stop.
+     */
+    public void setProfiler(FrameProfiler profiler) {
+        ImmutableArray<EntitySystem> systems = engine.getSystems();
+        for (int i = 0; i < systems.size(); ++i) {
+            SimulationSystem system = (SimulationSystem) systems.get(i);
+            system.setProfiler(profiler, profiler == null ? 0 : profiler.addPhase(system.getName()));
+        }
+    }
+
+    public CharacterStateStore getStates() {
+        return states;
+    }
+
+    public int getFighterCount() {
+        return players.length;
+    }
+
+    public Engine getEngine() {
+        return engine;
+    }
+
+    public World getWorld() {
+        return world;
+    }
+
+    public MapLayout getMap() {
+        return map;
+    }
+
+    public Array<CharacterBase> getCharacters() {
+        return characters;
+    }
+
+    public CharacterBase getCharacter(int slot) {
+        return players[slot].getCharacter();
+    }
+
+    public CharacterBase getPlayerCharacter() {
+        return getCharacter(PLAYER_SLOT);
+    }
+
+    public CharacterBase getEnemyCharacter() {
+        return getCharacter(ENEMY_SLOT);
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    // How many restores so far had to create or destroy stage bodies
+    public int getChunkRestores() {
+        return chunkRestores;
+    }
+
+    // Hash of the tick count, all character and controller state and the
+    // active chunks
+    public int checksum() {
+        int hash = (int) (tick ^ (tick >>> 32));
+        for (Player player : players) {
+            hash = player.hashState(hash);
+        }
+        return map.hashState(hash);
+    }
+
+    @Override
+    public void dispose() {
+        contactProbeDef.shape.dispose();
+        world.dispose();
+    }
+
+    // == Private methods ==
+
+    // Entities join the engine in the order the characters were created,
+    // which numbers them for the hitboxes
+    private void addCharacter(int slot, CharacterBase character) {
+        characters.add(character);
+        players[slot] = new Player(character);
+
+        CharacterComponent characterComponent = new CharacterComponent();
+        characterComponent.character = character;
+
+        ControlComponent control = new ControlComponent();
+        control.player = players[slot];
+        control.input = inputFrames[slot];
+
+        BodyComponent body = new BodyComponent();
+        body.index = character.getBodyIndex();
+
+        Entity entity = new Entity();
+        entity.add(characterComponent);
+        entity.add(control);
+        entity.add(body);
+        engine.addEntity(entity);
+    }
+
+    /**
+     * Counts the foot contacts of the characters. Dispatches on the
+     * {@link FixtureTag} of each fixture, the collision matrix only lets a
+     * foot touch the stage so the other fixture needs no checking.
+     */
+    public static class MyContactListener implements ContactListener {
+        @Override
+        public void beginContact(Contact contact) {
+            dispatch(contact.getFixtureA(), 1);
+            dispatch(contact.getFixtureB(), 1);
+        }
+
+        @Override
+        public void endContact(Contact contact) {
+            dispatch(contact.getFixtureA(), -1);
+            dispatch(contact.getFixtureB(), -1);
+        }
+
+        @Override
+        public void preSolve(Contact contact, Manifold manifold) {
+
+        }
+
+        @Override
+        public void postSolve(Contact contact, ContactImpulse contactImpulse) {
+
+        }
+
+        private static void dispatch(Fixture fixture, int delta) {
+            switch ((FixtureTag) fixture.getUserData()) {
+                case FOOT:
+                    ((CharacterBase) fixture.getBody().getUserData()).addFootContacts(delta);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+}
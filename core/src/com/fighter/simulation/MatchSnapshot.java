@@ -0,0 +1,43 @@
+package com.fighter.simulation;
+
+import com.fighter.entity.CharacterSnapshot;
+
+/**
+ * Complete state of a {@link MatchSimulation} at the start of a tick, see
+ * {@link MatchSimulation#save(MatchSnapshot)}. Allocate these up front and
+ * reuse them.
+ */
+public class MatchSnapshot {
+
+    // == Attributes ==
+    long tick;
+
+    // Indexed by input slot
+    final CharacterSnapshot[] characters;
+    final int[] buttons;
+    final int[] previousButtons;
+
+    // Sized by the first save, a snapshot is only ever used with one map
+    boolean[] activeChunks = new boolean[0];
+
+    // == Constructors ==
+    public MatchSnapshot() {
+        this(MatchSimulation.MAX_PLAYERS);
+    }
+
+    // For a simulation with a crowd, see MatchSimulation#getFighterCount
+    public MatchSnapshot(int fighters) {
+        characters = new CharacterSnapshot[fighters];
+        buttons = new int[fighters];
+        previousButtons = new int[fighters];
+
+        for (int i = 0; i < characters.length; ++i) {
+            characters[i] = new CharacterSnapshot();
+        }
+    }
+
+    // == Public methods ==
+    public long getTick() {
+        return tick;
+    }
+}
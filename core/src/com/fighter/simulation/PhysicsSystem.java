@@ -0,0 +1,31 @@
+package com.fighter.simulation;
+
+import com.badlogic.gdx.physics.box2d.World;
+import com.fighter.config.GameConfig;
+import com.fighter.entity.BodyStateCache;
+
+/**
+ * Pushes the positions and velocities the other systems wrote to Box2D,
+ * steps the world and reads the results back into the packed cache.
+ */
+public class PhysicsSystem extends SimulationSystem {
+
+    // == Attributes ==
+    private final World world;
+    private final BodyStateCache bodies;
+
+    // == Constructors ==
+    public PhysicsSystem(World world, BodyStateCache bodies) {
+        super("worldStep", PHYSICS_PRIORITY);
+        this.world = world;
+        this.bodies = bodies;
+    }
+
+    // == Protected methods ==
+    @Override
+    protected void process(float deltaTime) {
+        bodies.flush();
+        world.step(deltaTime, GameConfig.VELOCITY_ITERATIONS, GameConfig.POSITION_ITERATIONS);
+        bodies.readBack();
+    }
+}
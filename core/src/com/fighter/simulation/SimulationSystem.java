@@ -0,0 +1,51 @@
+package com.fighter.simulation;
+
+import com.badlogic.ashley.core.EntitySystem;
+import com.fighter.utils.debug.FrameProfiler;
+
+/**
+ * A step of the match tick. The engine runs the systems by priority, so the
+ * order of a tick is fixed here, and each system can be timed in a
+ * {@link FrameProfiler} phase of its own.
+ */
+public abstract class SimulationSystem extends EntitySystem {
+
+    // == Constants ==
+    public static final int CONTROL_PRIORITY = 0;
+    public static final int HITBOX_PRIORITY = 1;
+    public static final int PHYSICS_PRIORITY = 2;
+    public static final int STAGE_PRIORITY = 3;
+
+    // == Attributes ==
+    private final String name;
+
+    private FrameProfiler profiler;
+    private int phase;
+
+    // == Constructors ==
+    protected SimulationSystem(String name, int priority) {
+        super(priority);
+        this.name = name;
+    }
+
+    // == Public methods ==
+    @Override
+    public final void update(float deltaTime) {
+        if (profiler != null) profiler.begin(phase);
+        process(deltaTime);
+        if (profiler != null) profiler.end(phase);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // Pass null to stop timing
+    public void setProfiler(FrameProfiler profiler, int phase) {
+        this.profiler = profiler;
+        this.phase = phase;
+    }
+
+    // == Protected methods ==
+    protected abstract void process(float deltaTime);
+}
@@ -0,0 +1,66 @@
+package com.fighter.simulation;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.fighter.entity.BodyStateCache;
+import com.fighter.map.MapLayout;
+import com.fighter.simulation.component.BodyComponent;
+import com.fighter.simulation.component.Mappers;
+
+/**
+ * Keeps the chunks of the map near the entities with a body active, see
+ * {@link MapLayout#update(float, float)}.
+ */
+public class StageSystem extends SimulationSystem {
+
+    // == Attributes ==
+    private final BodyStateCache bodies;
+    private ImmutableArray<Entity> entities;
+
+    // Set once the entities are in, their extent decides the first chunks
+    private MapLayout map;
+
+    // == Constructors ==
+    public StageSystem(BodyStateCache bodies) {
+        super("stage", STAGE_PRIORITY);
+        this.bodies = bodies;
+    }
+
+    // == Public methods ==
+    @Override
+    public void addedToEngine(Engine engine) {
+        entities = engine.getEntitiesFor(Family.all(BodyComponent.class).get());
+    }
+
+    public void setMap(MapLayout map) {
+        this.map = map;
+    }
+
+    public void updateChunks() {
+        map.update(getMinX(), getMaxX());
+    }
+
+    public float getMinX() {
+        float minX = Float.MAX_VALUE;
+        for (int i = 0; i < entities.size(); ++i) {
+            minX = Math.min(minX, bodies.getX(Mappers.BODY.get(entities.get(i)).index));
+        }
+        return minX;
+    }
+
+    public float getMaxX() {
+        float maxX = -Float.MAX_VALUE;
+        for (int i = 0; i < entities.size(); ++i) {
+            maxX = Math.max(maxX, bodies.getX(Mappers.BODY.get(entities.get(i)).index));
+        }
+        return maxX;
+    }
+
+    // == Protected methods ==
+    @Override
+    protected void process(float deltaTime) {
+        updateChunks();
+    }
+}
@@ -0,0 +1,12 @@
+package com.fighter.simulation.component;
+
+import com.badlogic.ashley.core.Component;
+
+/**
+ * Where the position and velocity of an entity live in the packed
+ * BodyStateCache of the simulation.
+ */
+public class BodyComponent implements Component {
+
+    public int index;
+}
@@ -0,0 +1,12 @@
+package com.fighter.simulation.component;
+
+import com.badlogic.ashley.core.Component;
+import com.fighter.entity.CharacterBase;
+
+/**
+ * The fighter of an entity: its archetype, stats and action state.
+ */
+public class CharacterComponent implements Component {
+
+    public CharacterBase character;
+}
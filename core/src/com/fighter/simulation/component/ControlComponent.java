@@ -0,0 +1,15 @@
+package com.fighter.simulation.component;
+
+import com.badlogic.ashley.core.Component;
+import com.fighter.entity.Player;
+import com.fighter.input.InputFrame;
+
+/**
+ * Drives an entity from the input frame of the slot it is bound to. The
+ * frame is set by the simulation before the systems run.
+ */
+public class ControlComponent implements Component {
+
+    public Player player;
+    public InputFrame input;
+}
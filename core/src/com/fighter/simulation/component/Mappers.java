@@ -0,0 +1,19 @@
+package com.fighter.simulation.component;
+
+import com.badlogic.ashley.core.ComponentMapper;
+
+/**
+ * Shared component mappers, a lookup through one is an array access.
+ */
+public final class Mappers {
+
+    public static final ComponentMapper<CharacterComponent> CHARACTER =
+            ComponentMapper.getFor(CharacterComponent.class);
+    public static final ComponentMapper<ControlComponent> CONTROL =
+            ComponentMapper.getFor(ControlComponent.class);
+    public static final ComponentMapper<BodyComponent> BODY =
+            ComponentMapper.getFor(BodyComponent.class);
+
+    private Mappers() {
+    }
+}
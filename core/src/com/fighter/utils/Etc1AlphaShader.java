@@ -0,0 +1,53 @@
+package com.fighter.utils;
+
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * SpriteBatch shader for ETC1 atlas pages. ETC1 has no alpha channel, so
+ * the AssetPacker stores each page's alpha as grey in a second copy below
+ * the colours, and the page is twice as tall as the PNG one. Regions only
+ * cover the top half, so the alpha sits half a texture further down.
+ */
+public class Etc1AlphaShader {
+
+    // == Constants ==
+    private static final String VERTEX =
+            "attribute vec4 " + ShaderProgram.POSITION_ATTRIBUTE + ";\n"
+            + "attribute vec4 " + ShaderProgram.COLOR_ATTRIBUTE + ";\n"
+            + "attribute vec2 " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n"
+            + "uniform mat4 u_projTrans;\n"
+            + "varying vec4 v_color;\n"
+            + "varying vec2 v_texCoords;\n"
+            + "void main() {\n"
+            + "    v_color = " + ShaderProgram.COLOR_ATTRIBUTE + ";\n"
+            + "    v_color.a = v_color.a * (255.0 / 254.0);\n"
+            + "    v_texCoords = " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n"
+            + "    gl_Position = u_projTrans * " + ShaderProgram.POSITION_ATTRIBUTE + ";\n"
+            + "}\n";
+
+    private static final String FRAGMENT =
+            "#ifdef GL_ES\n"
+            + "precision mediump float;\n"
+            + "#endif\n"
+            + "varying vec4 v_color;\n"
+            + "varying vec2 v_texCoords;\n"
+            + "uniform sampler2D u_texture;\n"
+            + "void main() {\n"
+            + "    vec3 color = texture2D(u_texture, v_texCoords).rgb;\n"
+            + "    float alpha = texture2D(u_texture, v_texCoords + vec2(0.0, 0.5)).g;\n"
+            + "    gl_FragColor = v_color * vec4(color, alpha);\n"
+            + "}\n";
+
+    // == Constructors ==
+    private Etc1AlphaShader() {}
+
+    // == Public methods ==
+    public static ShaderProgram create() {
+        ShaderProgram shader = new ShaderProgram(VERTEX, FRAGMENT);
+        if (!shader.isCompiled()) {
+            throw new GdxRuntimeException("Couldn't compile the ETC1 alpha shader: " + shader.getLog());
+        }
+        return shader;
+    }
+}
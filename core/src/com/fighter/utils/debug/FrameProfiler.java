@@ -0,0 +1,272 @@
+package com.fighter.utils.debug;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.TimeUtils;
+
+import java.util.Arrays;
+
+/**
+ * Records per-phase frame timings in nanoseconds into a ring buffer, along
+ * with batch, Box2D and GC counters, and draws them as a HUD graph. While
+ * disabled every call returns straight away.
+ */
+public class FrameProfiler {
+
+    // == Constants ==
+    public static final int HISTORY = 240; // Frames
+
+    private static final float FRAME_BUDGET = 1000000000f / 60f; // Nanoseconds
+    private static final float GRAPH_HEIGHT = 120f; // HUD pixels for one frame budget
+    private static final float BAR_WIDTH = 2f;
+    private static final float MARGIN = 10f;
+    private static final float LINE_HEIGHT = 16f;
+
+    private static final Color[] PHASE_COLORS = {
+            Color.CYAN, Color.ORANGE, Color.LIME, Color.MAGENTA,
+            Color.YELLOW, Color.SKY, Color.CORAL, Color.VIOLET
+    };
+
+    // Counters recorded per frame
+    private static final int RENDER_CALLS = 0;
+    private static final int MAX_SPRITES = 1;
+    private static final int BODIES = 2;
+    private static final int CONTACTS = 3;
+    private static final int GC_COUNT = 4;
+    private static final int COUNTER_COUNT = 5;
+    private static final String[] COUNTER_NAMES = {
+            "renderCalls", "maxSpritesInBatch", "bodies", "contacts", "gcCount"
+    };
+
+    // == Attributes ==
+    private final GcCounter gcCounter;
+    private final Array<String> phaseNames = new Array<String>();
+
+    private long[][] phaseTimes = new long[0][];
+    private long[] phaseStarts = new long[0];
+    private final long[][] counters = new long[COUNTER_COUNT][HISTORY];
+
+    private int lastTotalRenderCalls = -1;
+
+    private int frame; // Slot in the ring buffer being recorded
+    private int recordedFrames;
+
+    private boolean enabled;
+
+    private final StringBuilder text = new StringBuilder();
+
+    // == Constructors ==
+    public FrameProfiler(GcCounter gcCounter) {
+        this.gcCounter = gcCounter;
+    }
+
+    // == Public methods ==
+
+    /**
+     * Registers a phase and returns the id to pass to {@link #begin(int)}
+     * and {@link #end(int)}.
+     */
+    public int addPhase(String name) {
+        int id = phaseNames.size;
+        phaseNames.add(name);
+
+        long[][] times = new long[id + 1][];
+        System.arraycopy(phaseTimes, 0, times, 0, id);
+        times[id] = new long[HISTORY];
+        phaseTimes = times;
+        phaseStarts = new long[id + 1];
+
+        return id;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        if (enabled && !this.enabled) clear();
+        this.enabled = enabled;
+    }
+
+    public void toggle() {
+        setEnabled(!enabled);
+    }
+
+    public void begin(int phase) {
+        if (!enabled) return;
+        phaseStarts[phase] = TimeUtils.nanoTime();
+    }
+
+    // Phases can run several times a frame (e.g. one world step per tick)
+    public void end(int phase) {
+        if (!enabled) return;
+        phaseTimes[phase][frame] += TimeUtils.nanoTime() - phaseStarts[phase];
+    }
+
+    public void recordBatch(SpriteBatch batch) {
+        if (!enabled) return;
+        // renderCalls restarts on every begin(), which views that pause the
+        // batch call mid frame, so count from the running total instead
+        if (lastTotalRenderCalls < 0) lastTotalRenderCalls = batch.totalRenderCalls;
+        counters[RENDER_CALLS][frame] += batch.totalRenderCalls - lastTotalRenderCalls;
+        lastTotalRenderCalls = batch.totalRenderCalls;
+        counters[MAX_SPRITES][frame] = batch.maxSpritesInBatch;
+
+        // SpriteBatch never resets this on its own, so make it per frame
+        batch.maxSpritesInBatch = 0;
+    }
+
+    public void recordWorld(World world) {
+        if (!enabled) return;
+        counters[BODIES][frame] = world.getBodyCount();
+        counters[CONTACTS][frame] = world.getContactCount();
+    }
+
+    // Closes the current frame and starts recording the next one
+    public void endFrame() {
+        if (!enabled) return;
+
+        counters[GC_COUNT][frame] = gcCounter.getCollectionCount();
+
+        frame = (frame + 1) % HISTORY;
+        recordedFrames = Math.min(recordedFrames + 1, HISTORY);
+
+        for (long[] times : phaseTimes) {
+            times[frame] = 0;
+        }
+        for (long[] values : counters) {
+            values[frame] = 0;
+        }
+    }
+
+    public void drawGraph(ShapeRenderer renderer, Camera hudCamera) {
+        if (!enabled) return;
+
+        float x = MARGIN;
+        float y = MARGIN;
+
+        renderer.setProjectionMatrix(hudCamera.combined);
+        renderer.begin(ShapeRenderer.ShapeType.Filled);
+
+        // One stacked bar per frame, oldest on the left
+        for (int i = 0; i < recordedFrames; ++i) {
+            int slot = slot(i);
+            float barY = y;
+
+            for (int phase = 0; phase < phaseTimes.length; ++phase) {
+                float height = phaseTimes[phase][slot] / FRAME_BUDGET * GRAPH_HEIGHT;
+                renderer.setColor(PHASE_COLORS[phase % PHASE_COLORS.length]);
+                renderer.rect(x + i * BAR_WIDTH, barY, BAR_WIDTH, height);
+                barY += height;
+            }
+        }
+
+        // Frame budget at 60 FPS
+        renderer.setColor(Color.RED);
+        renderer.rect(x, y + GRAPH_HEIGHT, HISTORY * BAR_WIDTH, 1f);
+
+        renderer.end();
+    }
+
+    public void drawText(Batch batch, BitmapFont font, Camera hudCamera) {
+        if (!enabled || recordedFrames == 0) return;
+
+        int last = slot(recordedFrames - 1);
+        float x = MARGIN * 2 + HISTORY * BAR_WIDTH;
+        float y = hudCamera.viewportHeight - MARGIN;
+
+        batch.setProjectionMatrix(hudCamera.combined);
+        batch.begin();
+
+        Color oldColor = font.getColor();
+
+        for (int phase = 0; phase < phaseTimes.length; ++phase) {
+            text.setLength(0);
+            text.append(phaseNames.get(phase)).append(": ")
+                    .append(average(phaseTimes[phase]) / 1000).append(" us");
+
+            font.setColor(PHASE_COLORS[phase % PHASE_COLORS.length]);
+            font.draw(batch, text, x, y);
+            y -= LINE_HEIGHT;
+        }
+
+        font.setColor(Color.WHITE);
+        for (int counter = 0; counter < COUNTER_COUNT; ++counter) {
+            text.setLength(0);
+            text.append(COUNTER_NAMES[counter]).append(": ").append(counters[counter][last]);
+
+            font.draw(batch, text, x, y);
+            y -= LINE_HEIGHT;
+        }
+
+        font.setColor(oldColor);
+        batch.end();
+    }
+
+    /**
+     * Writes the recorded frames, oldest first, as CSV: one column per phase
+     * in nanoseconds followed by the counters.
+     */
+    public void writeCsv(FileHandle file) {
+        StringBuilder csv = new StringBuilder();
+
+        csv.append("frame");
+        for (String name : phaseNames) {
+            csv.append(',').append(name).append("Nanos");
+        }
+        for (String name : COUNTER_NAMES) {
+            csv.append(',').append(name);
+        }
+        csv.append('\n');
+
+        for (int i = 0; i < recordedFrames; ++i) {
+            int slot = slot(i);
+
+            csv.append(i);
+            for (long[] times : phaseTimes) {
+                csv.append(',').append(times[slot]);
+            }
+            for (long[] values : counters) {
+                csv.append(',').append(values[slot]);
+            }
+            csv.append('\n');
+        }
+
+        file.writeString(csv.toString(), false);
+    }
+
+    // == Private methods ==
+
+    // Ring buffer slot of the i-th oldest recorded frame
+    private int slot(int i) {
+        return (frame - recordedFrames + i + HISTORY) % HISTORY;
+    }
+
+    private long average(long[] values) {
+        long sum = 0;
+        for (int i = 0; i < recordedFrames; ++i) {
+            sum += values[slot(i)];
+        }
+        return sum / recordedFrames;
+    }
+
+    private void clear() {
+        lastTotalRenderCalls = -1;
+        frame = 0;
+        recordedFrames = 0;
+
+        for (long[] times : phaseTimes) {
+            Arrays.fill(times, 0);
+        }
+        for (long[] values : counters) {
+            Arrays.fill(values, 0);
+        }
+    }
+}
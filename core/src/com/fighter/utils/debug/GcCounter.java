@@ -0,0 +1,18 @@
+package com.fighter.utils.debug;
+
+/**
+ * Platform specific source of the garbage collection count, since
+ * java.lang.management is not available on Android.
+ */
+public interface GcCounter {
+
+    GcCounter NONE = new GcCounter() {
+        @Override
+        public long getCollectionCount() {
+            return -1;
+        }
+    };
+
+    // Total number of collections so far, or -1 if unknown
+    long getCollectionCount();
+}
@@ -0,0 +1,132 @@
+package com.fighter.desktop;
+
+import com.badlogic.gdx.utils.Array;
+import com.fighter.entity.CharacterBase;
+import com.fighter.entity.CharacterRegistry;
+import com.fighter.input.InputFrame;
+import com.fighter.simulation.MatchSimulation;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumSet;
+
+/**
+ * Runs a headless match and fails if the simulation allocates on the heap
+ * once it has warmed up. The scripted input walks the player into range and
+ * cycles through attacking, guarding and jumping while the enemy turns
+ * around and swings back, so every character state, hitboxes, knockback
+ * and the contact listener are exercised.
+ * Warm-up lasts until every state has been entered and every character has
+ * been hit, so one-off class loading is not counted against the hot path.
+ *
+ * Usage: AllocationCheck [ticksPerWindow]
+ */
+public class AllocationCheck {
+
+    private static final int WARMUP_TICKS = 20000;
+    private static final int MAX_WARMUP_TICKS = 2000000;
+    private static final int DEFAULT_MEASURED_TICKS = 20000;
+    private static final int WINDOWS = 5;
+
+    private static final float ATTACK_POSITION = 6.5f;
+    private static final int SCRIPT_LENGTH = 120;
+
+    public static void main(String[] args) {
+        int measuredTicks = (args.length > 0) ? Integer.parseInt(args[0]) : DEFAULT_MEASURED_TICKS;
+
+        com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        CharacterRegistry characters = HeadlessAssets.loadCharacters();
+        MatchSimulation simulation = new MatchSimulation(characters, HeadlessAssets.loadMap());
+        int[] inputs = new int[MatchSimulation.MAX_PLAYERS];
+
+        if (!warmUp(simulation, inputs)) {
+            System.out.println("FAILED: the script did not reach every character state");
+            System.exit(1);
+        }
+
+        // The first call may allocate internally, only measure from the second
+        threadBean.getThreadAllocatedBytes(threadId);
+
+        // Real hot path allocations show up in every window. JIT recompilation
+        // can allocate a few bytes once, so only the quietest window counts.
+        long minAllocated = Long.MAX_VALUE;
+        for (int window = 0; window < WINDOWS; ++window) {
+            long before = threadBean.getThreadAllocatedBytes(threadId);
+            run(simulation, inputs, measuredTicks);
+            long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+
+            System.out.println("Window " + window + ": " + allocated + " bytes over "
+                    + measuredTicks + " ticks");
+            minAllocated = Math.min(minAllocated, allocated);
+        }
+
+        simulation.dispose();
+        characters.dispose();
+
+        double perTick = (double) minAllocated / measuredTicks;
+        System.out.println("Allocated per tick: " + perTick + " bytes");
+
+        if (perTick > 0) {
+            System.out.println("FAILED: the simulation allocates in steady state");
+            System.exit(1);
+        }
+        System.out.println("OK");
+    }
+
+    private static boolean warmUp(MatchSimulation simulation, int[] inputs) {
+        EnumSet<CharacterBase.CharacterState> visited = EnumSet.noneOf(CharacterBase.CharacterState.class);
+        Array<CharacterBase> characters = simulation.getCharacters();
+
+        for (int i = 0; i < MAX_WARMUP_TICKS; ++i) {
+            run(simulation, inputs, 1);
+
+            boolean everyoneHit = true;
+            for (CharacterBase character : characters) {
+                visited.add(character.getCurrentState());
+                everyoneHit &= character.getCurrentHealth() < character.getHealth();
+            }
+
+            if (i >= WARMUP_TICKS && everyoneHit
+                    && visited.size() == CharacterBase.CharacterState.values().length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void run(MatchSimulation simulation, int[] inputs, int ticks) {
+        CharacterBase player = simulation.getPlayerCharacter();
+
+        for (int i = 0; i < ticks; ++i) {
+            inputs[MatchSimulation.PLAYER_SLOT] = script(player, simulation.getTick());
+            inputs[MatchSimulation.ENEMY_SLOT] = enemyScript(simulation.getTick());
+            simulation.tick(inputs);
+        }
+    }
+
+    private static int script(CharacterBase player, long tick) {
+        if (player.getX() < ATTACK_POSITION) return InputFrame.RIGHT;
+
+        int step = (int) (tick % SCRIPT_LENGTH);
+
+        if (step < 10) return InputFrame.ATTACK;
+        if (step < 40) return InputFrame.NONE;
+        if (step < 70) return InputFrame.GUARD;
+        if (step < 75) return InputFrame.JUMP;
+        if (step < 90) return InputFrame.JUMP | InputFrame.LEFT;
+        return InputFrame.NONE;
+    }
+
+    // Turns towards the player, then swings less often than the AI does so
+    // the player gets a chance to hit back
+    private static int enemyScript(long tick) {
+        if (tick < 2) return InputFrame.LEFT;
+
+        int step = (int) (tick % SCRIPT_LENGTH);
+
+        if (step >= 100 && step < 105) return InputFrame.ATTACK;
+        return InputFrame.NONE;
+    }
+}
@@ -1,27 +1,385 @@
 package com.fighter.desktop;
 
+import com.badlogic.gdx.Version;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData;
 import com.badlogic.gdx.tools.texturepacker.TexturePacker;
+import com.badlogic.gdx.utils.ObjectSet;
+import com.fighter.assets.AssetPaths;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Packs the raw sprites into atlases and compiles the character data.
+ * <p>
+ * An atlas is only repacked when the content hash of its input directory
+ * or the packer settings changed since the last run, or its output is
+ * missing. The hashes are kept in a manifest under desktop/build.
+ * Atlases that need packing are packed in parallel.
+ * <p>
+ * Identical frames are stored once and aliased, and an atlas can trim
+ * transparent borders through a pack.json in its input directory. The
+ * report shows how much of the frames' memory that saved.
+ * <p>
+ * Atlases listed in ETC1_ATLASES are also written with ETC1 pages for the
+ * devices that support it.
+ *
+ * Usage: AssetPacker [--force]
+ */
 public class AssetPacker {
 
+    // == Constants ==
     private static final boolean DRAW_DEBUG_OUTLINE = false;
 
     private static final String RAW_ASSETS_PATH = "desktop/assets-raw";
     private static final String ASSETS_PATH = "android/assets";
+    private static final String MANIFEST_PATH = "desktop/build/asset-manifest.properties";
+
+    // Input directory under RAW_ASSETS_PATH, output directory under ASSETS_PATH, atlas name
+    // Every character is its own atlas, so only the fighters in use take
+    // texture memory. Their names match the character definitions.
+    private static final String[][] ATLASES = {
+            {"characters/knight", "characters", "knight"},
+            {"characters/test", "characters", "test"},
+            {"map", "map", "test-map"},
+    };
+
+    // Atlases that also get an ETC1 copy, see Etc1AtlasWriter
+    private static final String[] ETC1_ATLASES = {"knight", "test"};
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // == Main ==
+    public static void main(String[] args) throws Exception {
+        boolean force = args.length > 0 && args[0].equals("--force");
 
-    public static void main(String[] args) {
         TexturePacker.Settings settings = new TexturePacker.Settings();
         settings.debug = DRAW_DEBUG_OUTLINE;
 
-        TexturePacker.process(settings,
-                RAW_ASSETS_PATH + "/gameplay",
-                ASSETS_PATH + "/gameplay",
-                "test-player"
-        );
+        packAtlases(settings, force);
+
+        CharacterCompiler.compile(
+                new File(RAW_ASSETS_PATH + "/characters"),
+                new File(ASSETS_PATH, AssetPaths.CHARACTERS));
+    }
+
+    // == Packing ==
+    private static void packAtlases(TexturePacker.Settings settings, boolean force) throws Exception {
+        File manifestFile = new File(MANIFEST_PATH);
+        Properties manifest = loadManifest(manifestFile);
+        String settingsHash = hashSettings(settings);
+
+        List<Atlas> stale = new ArrayList<Atlas>();
+        List<Atlas> atlases = new ArrayList<Atlas>();
+
+        for (String[] definition : ATLASES) {
+            Atlas atlas = new Atlas(definition[0], definition[1], definition[2]);
+            atlas.hash = hashDirectory(atlas.inputDir, settingsHash);
+            atlas.etc1 = Arrays.asList(ETC1_ATLASES).contains(atlas.name);
+            atlases.add(atlas);
+
+            if (force || !atlas.getAtlasFile().exists() || (atlas.etc1 && !atlas.getEtc1AtlasFile().exists())
+                    || !atlas.hash.equals(manifest.getProperty(atlas.name))) {
+                stale.add(atlas);
+            }
+        }
+
+        if (!stale.isEmpty()) {
+            int threads = Math.min(stale.size(), Runtime.getRuntime().availableProcessors());
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+            try {
+                List<Future<Long>> results = new ArrayList<Future<Long>>();
+                for (Atlas atlas : stale) {
+                    results.add(executor.submit(atlas.packer(settings)));
+                }
+
+                for (int i = 0; i < stale.size(); ++i) {
+                    Atlas atlas = stale.get(i);
+                    atlas.packMillis = results.get(i).get();
+                    atlas.packed = true;
+                    manifest.setProperty(atlas.name, atlas.hash);
+                }
+            } finally {
+                executor.shutdown();
+            }
+
+            saveManifest(manifestFile, manifest);
+        }
+
+        for (Atlas atlas : atlases) {
+            report(atlas);
+        }
+    }
+
+    private static void report(Atlas atlas) {
+        String status = atlas.packed
+                ? String.format(Locale.ROOT, "packed in %d ms", atlas.packMillis)
+                : "up to date";
+        System.out.println(atlas.name + ": " + status);
+
+        TextureAtlasData data = new TextureAtlasData(
+                new FileHandle(atlas.getAtlasFile()), new FileHandle(atlas.outputDir), false);
+
+        long pageBytes = 0;
+        for (TextureAtlasData.Page page : data.getPages()) {
+            long used = 0;
+            int regions = 0;
+
+            // Aliased frames share one rectangle, count it once
+            ObjectSet<String> stored = new ObjectSet<String>();
+            for (TextureAtlasData.Region region : data.getRegions()) {
+                if (region.page != page) continue;
+
+                if (stored.add(region.left + "," + region.top)) {
+                    used += (long) region.width * region.height;
+                }
+                ++regions;
+            }
+
+            pageBytes += (long) page.width * page.height * bytesPerPixel(page.format);
+            System.out.println(String.format(Locale.ROOT, "  %s %dx%d, %d regions, %d unique, %.1f%% used",
+                    page.textureFile.name(), (int) page.width, (int) page.height,
+                    regions, stored.size, 100.0 * used / (page.width * page.height)));
+        }
+
+        reportFootprint(data, pageBytes);
+
+        if (atlas.etc1) {
+            reportEtc1(atlas.getEtc1AtlasFile(), atlas.outputDir);
+        }
+    }
+
+    private static void reportEtc1(File atlasFile, File dir) {
+        TextureAtlasData data = new TextureAtlasData(new FileHandle(atlasFile), new FileHandle(dir), false);
+
+        for (TextureAtlasData.Page page : data.getPages()) {
+            // Half a byte per pixel, over a page twice as tall
+            long gpuBytes = (long) (page.width * page.height);
+            System.out.println(String.format(Locale.ROOT, "  %s %d KB on disk, %d KB on the GPU",
+                    page.textureFile.name(), page.textureFile.length() / 1024, gpuBytes / 1024));
+        }
+    }
+
+    // What aliasing and trimming saved, against every frame stored whole
+    private static void reportFootprint(TextureAtlasData data, long pageBytes) {
+        long frames = 0;
+        long trimmed = 0;
+        long unique = 0;
+        ObjectSet<String> stored = new ObjectSet<String>();
+
+        for (TextureAtlasData.Region region : data.getRegions()) {
+            int bytesPerPixel = bytesPerPixel(region.page.format);
+            long area = (long) region.width * region.height * bytesPerPixel;
+
+            frames += (long) region.originalWidth * region.originalHeight * bytesPerPixel;
+            trimmed += area;
+            if (stored.add(region.page.textureFile.name() + ":" + region.left + "," + region.top)) {
+                unique += area;
+            }
+        }
+
+        System.out.println(String.format(Locale.ROOT,
+                "  frames %d KB, trimming saved %d KB, aliasing saved %d KB, pages %d KB",
+                frames / 1024, (frames - trimmed) / 1024, (trimmed - unique) / 1024, pageBytes / 1024));
+    }
+
+    private static int bytesPerPixel(Pixmap.Format format) {
+        switch (format) {
+            case Alpha:
+            case Intensity:
+                return 1;
+            case LuminanceAlpha:
+            case RGB565:
+            case RGBA4444:
+                return 2;
+            case RGB888:
+                return 3;
+            default:
+                return 4;
+        }
+    }
+
+    // == Hashing ==
+
+    // Every file under the directory, by relative path, plus the packer settings
+    private static String hashDirectory(File dir, String settingsHash) throws IOException {
+        MessageDigest digest = newDigest();
+        digest.update(settingsHash.getBytes("UTF-8"));
+
+        List<File> files = new ArrayList<File>();
+        listFiles(dir, files);
+
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int prefix = dir.getPath().length();
+
+        for (File file : files) {
+            digest.update(file.getPath().substring(prefix).replace('\\', '/').getBytes("UTF-8"));
+            digest.update((byte) 0);
+
+            InputStream in = new FileInputStream(file);
+            try {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                }
+            } finally {
+                in.close();
+            }
+        }
+        return toHex(digest.digest());
+    }
+
+    // Every public setting, so changing any of them repacks everything
+    private static String hashSettings(TexturePacker.Settings settings) throws Exception {
+        Field[] fields = TexturePacker.Settings.class.getFields();
+        Arrays.sort(fields, new Comparator<Field>() {
+            @Override
+            public int compare(Field a, Field b) {
+                return a.getName().compareTo(b.getName());
+            }
+        });
+
+        StringBuilder text = new StringBuilder(Version.VERSION);
+        for (Field field : fields) {
+            text.append(';').append(field.getName()).append('=');
+            appendValue(text, field.get(settings));
+        }
+
+        return toHex(newDigest().digest(text.toString().getBytes("UTF-8")));
+    }
+
+    // Arrays by content, toString would give their identity
+    private static void appendValue(StringBuilder text, Object value) {
+        if (value == null || !value.getClass().isArray()) {
+            text.append(value);
+            return;
+        }
+
+        text.append('[');
+        for (int i = 0; i < Array.getLength(value); ++i) {
+            if (i > 0) text.append(',');
+            appendValue(text, Array.get(value, i));
+        }
+        text.append(']');
+    }
+
+    private static void listFiles(File dir, List<File> files) {
+        File[] children = dir.listFiles();
+        if (children == null) return;
+        Arrays.sort(children);
+
+        for (File child : children) {
+            if (child.isDirectory()) {
+                listFiles(child, files);
+            } else {
+                files.add(child);
+            }
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16));
+            hex.append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    // == Manifest ==
+    private static Properties loadManifest(File file) throws IOException {
+        Properties manifest = new Properties();
+        if (!file.exists()) return manifest;
+
+        InputStream in = new FileInputStream(file);
+        try {
+            manifest.load(in);
+        } finally {
+            in.close();
+        }
+        return manifest;
+    }
+
+    private static void saveManifest(File file, Properties manifest) throws IOException {
+        file.getParentFile().mkdirs();
+
+        OutputStream out = new FileOutputStream(file);
+        try {
+            manifest.store(out, "Content hashes of the packed atlas inputs");
+        } finally {
+            out.close();
+        }
+    }
+
+    // == Atlas ==
+    private static class Atlas {
+
+        final String name;
+        final File inputDir;
+        final File outputDir;
+
+        String hash;
+        boolean etc1;
+        boolean packed;
+        long packMillis;
+
+        Atlas(String input, String output, String name) {
+            this.name = name;
+            this.inputDir = new File(RAW_ASSETS_PATH, input);
+            this.outputDir = new File(ASSETS_PATH, output);
+        }
+
+        File getAtlasFile() {
+            return new File(outputDir, name + ".atlas");
+        }
+
+        File getEtc1AtlasFile() {
+            return new File(outputDir, name + AssetPaths.ETC1_SUFFIX + ".atlas");
+        }
 
-        TexturePacker.process(settings,
-                RAW_ASSETS_PATH + "/map",
-                ASSETS_PATH + "/map",
-                "test-map");
+        // The packer may adjust its settings while working, so each atlas gets a copy
+        Callable<Long> packer(final TexturePacker.Settings settings) {
+            return new Callable<Long>() {
+                @Override
+                public Long call() throws IOException {
+                    long start = System.nanoTime();
+                    TexturePacker.process(new TexturePacker.Settings(settings),
+                            inputDir.getPath(), outputDir.getPath(), name);
+                    if (etc1) {
+                        Etc1AtlasWriter.write(getAtlasFile(), getEtc1AtlasFile());
+                    }
+                    return (System.nanoTime() - start) / 1000000;
+                }
+            };
+        }
     }
 }
@@ -0,0 +1,408 @@
+package com.fighter.desktop;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.Array;
+import com.fighter.config.GameConfig;
+import com.fighter.entity.CharacterArchetype;
+import com.fighter.entity.CharacterBase;
+import com.fighter.entity.CharacterRegistry;
+import com.fighter.entity.CharacterStats;
+import com.fighter.entity.HitboxDef;
+import com.fighter.input.InputController;
+import com.fighter.input.InputFrame;
+import com.fighter.map.MapDef;
+import com.fighter.simulation.MatchSimulation;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Plays thousands of headless bot matches in parallel to see how stat
+ * changes shift the balance. For every matchup it plays a baseline, then
+ * scales each stat of the first character in turn. Win rates, damage per
+ * second and match length of every grid point go to a CSV file.
+ * <p>
+ * Every match owns its simulation and Box2D world, so matches share nothing
+ * and spread over a fixed pool with one worker per core.
+ *
+ * Usage: BalanceSweep [--matches n] [--threads n] [--scales 0.8,1.2] [--out file.csv]
+ *        BalanceSweep --scaling [--matches n]
+ */
+public class BalanceSweep {
+
+    // == Constants ==
+    private static final int DEFAULT_MATCHES = 50; // Per grid point
+    private static final String DEFAULT_SCALES = "0.8,0.9,1.1,1.2";
+    private static final String DEFAULT_OUT = "balance.csv";
+
+    private static final int MAX_MATCH_TICKS = (int) (99 / GameConfig.TIME_STEP); // 99 second timer
+
+    // == Stats ==
+    private enum Stat {
+        HEALTH() {
+            @Override
+            void scale(CharacterStats stats, float scale) {
+                stats.health = Math.round(stats.health * scale);
+            }
+        },
+        ATTACK() {
+            @Override
+            void scale(CharacterStats stats, float scale) {
+                stats.attack = Math.max(1, Math.round(stats.attack * scale));
+            }
+        },
+        SPEED() {
+            @Override
+            void scale(CharacterStats stats, float scale) {
+                stats.speed *= scale;
+            }
+        },
+        JUMP_FORCE() {
+            @Override
+            void scale(CharacterStats stats, float scale) {
+                stats.jumpForce *= scale;
+            }
+        },
+        ATTACK_RANGE() {
+            @Override
+            void scale(CharacterStats stats, float scale) {
+                stats.attackRange *= scale;
+            }
+        };
+
+        abstract void scale(CharacterStats stats, float scale);
+    }
+
+    // == Main ==
+    public static void main(String[] args) throws Exception {
+        int matches = DEFAULT_MATCHES;
+        int threads = Runtime.getRuntime().availableProcessors();
+        String scales = DEFAULT_SCALES;
+        String out = DEFAULT_OUT;
+        boolean scaling = false;
+
+        for (int i = 0; i < args.length; ++i) {
+            String arg = args[i];
+
+            if (arg.equals("--matches")) {
+                matches = Integer.parseInt(args[++i]);
+            } else if (arg.equals("--threads")) {
+                threads = Integer.parseInt(args[++i]);
+            } else if (arg.equals("--scales")) {
+                scales = args[++i];
+            } else if (arg.equals("--out")) {
+                out = args[++i];
+            } else if (arg.equals("--scaling")) {
+                scaling = true;
+            } else {
+                throw new IllegalArgumentException("Unknown argument: " + arg);
+            }
+        }
+
+        CharacterRegistry characters = HeadlessAssets.loadCharacters();
+        MapDef map = HeadlessAssets.loadMap();
+
+        if (scaling) {
+            measureScaling(characters, map, matches * 8);
+        } else {
+            sweep(characters, map, matches, threads, parseScales(scales), out);
+        }
+
+        characters.dispose();
+    }
+
+    // == Sweep ==
+    private static void sweep(CharacterRegistry characters, MapDef map, int matches, int threads, float[] scales,
+                              String out) throws InterruptedException, ExecutionException, IOException {
+        List<GridPoint> grid = new ArrayList<GridPoint>();
+
+        for (CharacterArchetype first : characters.getArchetypes()) {
+            for (CharacterArchetype second : characters.getArchetypes()) {
+                grid.add(new GridPoint(map, first, second, null, 1f));
+
+                for (Stat stat : Stat.values()) {
+                    for (float scale : scales) {
+                        grid.add(new GridPoint(map, first, second, stat, scale));
+                    }
+                }
+            }
+        }
+
+        System.out.println("Playing " + grid.size() * matches + " matches on " + threads + " threads");
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+
+        try {
+            for (GridPoint point : grid) {
+                for (int i = 0; i < matches; ++i) {
+                    point.results.add(executor.submit(point.match(i)));
+                }
+            }
+
+            PrintWriter writer = new PrintWriter(new FileWriter(out));
+            try {
+                writer.println("first,second,stat,scale,matches,firstWinRate,secondWinRate,drawRate,"
+                        + "firstDamagePerSecond,secondDamagePerSecond,averageSeconds");
+
+                for (GridPoint point : grid) {
+                    writer.println(point.summarize());
+                }
+            } finally {
+                writer.close();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        System.out.println("Done in " + (System.nanoTime() - start) / 1000000 + " ms, wrote " + out);
+    }
+
+    // Plays the same batch of baseline matches on 1, 2, 4... threads
+    private static void measureScaling(CharacterRegistry characters, MapDef map, int matches)
+            throws InterruptedException, ExecutionException {
+        int cores = Runtime.getRuntime().availableProcessors();
+        GridPoint point = new GridPoint(map, characters.get(MatchSimulation.DEFAULT_PLAYER),
+                characters.get(MatchSimulation.DEFAULT_ENEMY), null, 1f);
+
+        System.out.println(matches + " matches, " + cores + " cores");
+
+        // Warm up the JIT so the single thread run isn't penalized
+        runBatch(point, matches / 4, cores);
+
+        double singleThreadMillis = 0;
+        for (int threads = 1; ; threads = Math.min(threads * 2, cores)) {
+            double millis = runBatch(point, matches, threads);
+            if (threads == 1) singleThreadMillis = millis;
+
+            double speedup = singleThreadMillis / millis;
+            System.out.println(String.format(Locale.ROOT,
+                    "%2d threads: %8.0f ms, speedup %5.2f, efficiency %3.0f%%",
+                    threads, millis, speedup, 100 * speedup / threads));
+
+            if (threads == cores) break;
+        }
+    }
+
+    private static double runBatch(GridPoint point, int matches, int threads)
+            throws InterruptedException, ExecutionException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+
+        try {
+            List<Future<MatchResult>> results = new ArrayList<Future<MatchResult>>();
+            for (int i = 0; i < matches; ++i) {
+                results.add(executor.submit(point.match(i)));
+            }
+            for (Future<MatchResult> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return (System.nanoTime() - start) / 1e6;
+    }
+
+    private static float[] parseScales(String scales) {
+        String[] parts = scales.split(",");
+        float[] values = new float[parts.length];
+
+        for (int i = 0; i < parts.length; ++i) {
+            values[i] = Float.parseFloat(parts[i].trim());
+        }
+        return values;
+    }
+
+    // == Grid point ==
+    private static class GridPoint {
+
+        final MapDef map; // Read only, shared by every match
+        final CharacterArchetype first;
+        final CharacterArchetype second;
+        final Stat stat; // Null for the baseline
+        final float scale;
+
+        final List<Future<MatchResult>> results = new ArrayList<Future<MatchResult>>();
+
+        GridPoint(MapDef map, CharacterArchetype first, CharacterArchetype second, Stat stat, float scale) {
+            this.map = map;
+            this.first = first;
+            this.second = second;
+            this.stat = stat;
+            this.scale = scale;
+        }
+
+        Callable<MatchResult> match(final long seed) {
+            return new Callable<MatchResult>() {
+                @Override
+                public MatchResult call() {
+                    CharacterStats firstStats = first.getDefaultStats();
+                    if (stat != null) stat.scale(firstStats, scale);
+
+                    return play(map, first, firstStats, second, second.getDefaultStats(), seed);
+                }
+            };
+        }
+
+        String summarize() throws InterruptedException, ExecutionException {
+            int[] wins = new int[MatchSimulation.MAX_PLAYERS];
+            long[] damage = new long[MatchSimulation.MAX_PLAYERS];
+            int draws = 0;
+            long ticks = 0;
+
+            for (Future<MatchResult> future : results) {
+                MatchResult result = future.get();
+
+                if (result.winner < 0) {
+                    ++draws;
+                } else {
+                    ++wins[result.winner];
+                }
+                for (int slot = 0; slot < damage.length; ++slot) {
+                    damage[slot] += result.damage[slot];
+                }
+                ticks += result.ticks;
+            }
+
+            int matches = results.size();
+            double seconds = ticks * GameConfig.TIME_STEP;
+
+            return String.format(Locale.ROOT, "%s,%s,%s,%.2f,%d,%.3f,%.3f,%.3f,%.2f,%.2f,%.1f",
+                    first.getName(), second.getName(), (stat == null) ? "BASELINE" : stat.toString(), scale, matches,
+                    (double) wins[0] / matches, (double) wins[1] / matches, (double) draws / matches,
+                    damage[0] / seconds, damage[1] / seconds, seconds / matches);
+        }
+    }
+
+    // == Match ==
+    private static class MatchResult {
+
+        int winner; // Slot, -1 for a draw
+        long ticks;
+        final int[] damage = new int[MatchSimulation.MAX_PLAYERS]; // Dealt, by slot
+    }
+
+    private static MatchResult play(MapDef map, CharacterArchetype first, CharacterStats firstStats,
+                                    CharacterArchetype second, CharacterStats secondStats, long seed) {
+        MatchSimulation simulation = new MatchSimulation(first, firstStats, second, secondStats, map);
+
+        try {
+            InputController[] bots = new InputController[MatchSimulation.MAX_PLAYERS];
+            for (int slot = 0; slot < bots.length; ++slot) {
+                bots[slot] = new Bot(simulation.getCharacter(slot),
+                        simulation.getCharacter(1 - slot), seed * bots.length + slot);
+            }
+
+            int[] inputs = new int[MatchSimulation.MAX_PLAYERS];
+            while (simulation.getTick() < MAX_MATCH_TICKS && !isKnockout(simulation)) {
+                for (int slot = 0; slot < bots.length; ++slot) {
+                    inputs[slot] = bots[slot].sample();
+                }
+                simulation.tick(inputs);
+            }
+
+            return result(simulation);
+        } finally {
+            simulation.dispose();
+        }
+    }
+
+    private static boolean isKnockout(MatchSimulation simulation) {
+        for (int slot = 0; slot < MatchSimulation.MAX_PLAYERS; ++slot) {
+            if (simulation.getCharacter(slot).getCurrentHealth() == 0) return true;
+        }
+        return false;
+    }
+
+    // On time out the higher share of health left wins
+    private static MatchResult result(MatchSimulation simulation) {
+        MatchResult result = new MatchResult();
+        result.ticks = simulation.getTick();
+
+        float[] healthLeft = new float[MatchSimulation.MAX_PLAYERS];
+        for (int slot = 0; slot < healthLeft.length; ++slot) {
+            CharacterBase character = simulation.getCharacter(slot);
+            healthLeft[slot] = (float) character.getCurrentHealth() / character.getHealth();
+            result.damage[1 - slot] = character.getHealth() - character.getCurrentHealth();
+        }
+
+        if (healthLeft[0] == healthLeft[1]) {
+            result.winner = -1;
+        } else {
+            result.winner = (healthLeft[0] > healthLeft[1]) ? 0 : 1;
+        }
+        return result;
+    }
+
+    // == Bot ==
+
+    /**
+     * Walks up to the opponent and swings, guarding now and then when the
+     * opponent swings first. Seeded, so every match can be replayed.
+     */
+    private static class Bot implements InputController {
+
+        private static final float JUMP_CHANCE = 0.01f;
+        private static final float GUARD_CHANCE = 0.05f;
+        private static final int GUARD_TICKS = 20;
+
+        private final CharacterBase self;
+        private final CharacterBase opponent;
+        private final RandomXS128 random;
+        private final float reach;
+
+        private int guardTicks;
+        private boolean attackHeld;
+
+        Bot(CharacterBase self, CharacterBase opponent, long seed) {
+            this.self = self;
+            this.opponent = opponent;
+            this.random = new RandomXS128(seed);
+
+            float hitboxReach = 0;
+            Array<HitboxDef> hitboxes = self.getAttackHitboxes();
+            for (HitboxDef hitbox : hitboxes) {
+                hitboxReach = Math.max(hitboxReach, hitbox.getMaxX());
+            }
+            reach = hitboxReach + opponent.getCharacterWidth() / 2f;
+        }
+
+        @Override
+        public int sample() {
+            if (guardTicks > 0) {
+                --guardTicks;
+                return InputFrame.GUARD;
+            }
+
+            float distance = opponent.getX() - self.getX();
+            int towards = (distance > 0) ? InputFrame.RIGHT : InputFrame.LEFT;
+            CharacterBase.Direction direction = (distance > 0)
+                    ? CharacterBase.Direction.RIGHT : CharacterBase.Direction.LEFT;
+
+            if (Math.abs(distance) > reach) {
+                return (random.nextFloat() < JUMP_CHANCE) ? towards | InputFrame.JUMP : towards;
+            }
+
+            if (self.getFacing() != direction) return towards;
+
+            if (opponent.isAttacking() && random.nextFloat() < GUARD_CHANCE) {
+                guardTicks = GUARD_TICKS;
+                return InputFrame.GUARD;
+            }
+
+            // Release between swings so each one starts with a new press
+            attackHeld = !attackHeld;
+            return attackHeld ? InputFrame.ATTACK : InputFrame.NONE;
+        }
+    }
+}
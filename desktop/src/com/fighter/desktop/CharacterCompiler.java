@@ -0,0 +1,170 @@
+package com.fighter.desktop;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.ObjectSet;
+import com.fighter.assets.AssetPaths;
+import com.fighter.entity.CharacterRegistry;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Compiles the JSON character definitions in assets-raw/characters into the
+ * binary file {@link CharacterRegistry} reads at startup. One JSON file per
+ * character, in file name order. An animation can name another slot instead
+ * of defining its own frames, e.g. "jump": "stand".
+ */
+public class CharacterCompiler {
+
+    // == Constants ==
+    private static final String RAW_CHARACTERS_PATH = "desktop/assets-raw/characters";
+    private static final String ASSETS_PATH = "android/assets";
+
+    // In the order CharacterRegistry reads them
+    private static final String[] ANIMATION_SLOTS = {"stand", "walk", "attack", "jump", "jumpstart", "guard"};
+
+    // == Main ==
+    public static void main(String[] args) throws IOException {
+        String rawPath = (args.length > 0) ? args[0] : RAW_CHARACTERS_PATH;
+        String assetsPath = (args.length > 1) ? args[1] : ASSETS_PATH;
+
+        compile(new File(rawPath), new File(assetsPath, AssetPaths.CHARACTERS));
+    }
+
+    // == Public methods ==
+    public static void compile(File sourceDir, File output) throws IOException {
+        File[] sources = sourceDir.listFiles();
+        if (sources == null) throw new IOException("No character directory: " + sourceDir);
+        Arrays.sort(sources);
+
+        Array<JsonValue> characters = new Array<JsonValue>();
+        ObjectSet<String> names = new ObjectSet<String>();
+        JsonReader reader = new JsonReader();
+
+        for (File source : sources) {
+            if (!source.getName().endsWith(".json")) continue;
+
+            JsonValue character = reader.parse(new FileHandle(source));
+            String name = character.getString("name", null);
+            if (name == null) throw new GdxRuntimeException(source + ": missing name");
+            if (!names.add(name)) throw new GdxRuntimeException(source + ": duplicate character " + name);
+
+            characters.add(character);
+        }
+
+        output.getParentFile().mkdirs();
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(output)));
+
+        try {
+            out.writeInt(CharacterRegistry.MAGIC);
+            out.writeShort(CharacterRegistry.VERSION);
+            out.writeShort(characters.size);
+
+            for (JsonValue character : characters) {
+                try {
+                    writeCharacter(out, character);
+                } catch (IllegalArgumentException e) {
+                    throw new GdxRuntimeException("Character " + character.getString("name") + ": " + e.getMessage(), e);
+                }
+            }
+        } finally {
+            out.close();
+        }
+
+        System.out.println("Compiled " + characters.size + " characters into " + output
+                + " (" + output.length() + " bytes)");
+    }
+
+    // == Private methods ==
+    private static void writeCharacter(DataOutputStream out, JsonValue character) throws IOException {
+        out.writeUTF(character.getString("name"));
+        out.writeBoolean(character.getBoolean("canGuard", true));
+
+        JsonValue stats = character.get("stats");
+        require(stats, "stats");
+        out.writeInt(stats.getInt("health"));
+        out.writeInt(stats.getInt("attack"));
+        out.writeFloat(stats.getFloat("speed"));
+        out.writeFloat(stats.getFloat("jumpForce"));
+        out.writeFloat(stats.getFloat("attackRange"));
+
+        JsonValue sprite = character.get("sprite");
+        require(sprite, "sprite");
+        out.writeFloat(sprite.getFloat("width"));
+        out.writeFloat(sprite.getFloat("height"));
+
+        JsonValue body = character.get("body");
+        require(body, "body");
+        out.writeFloat(body.getFloat("width"));
+        out.writeFloat(body.getFloat("height"));
+        out.writeFloat(body.getFloat("density"));
+        out.writeFloat(body.getFloat("friction", 0f));
+        out.writeFloat(body.getFloat("restitution", 0f));
+
+        out.writeByte(character.getInt("maxJumps"));
+
+        JsonValue attack = character.get("attack");
+        require(attack, "attack");
+        out.writeShort(attack.getInt("firstActiveFrame"));
+        out.writeShort(attack.getInt("lastActiveFrame"));
+        out.writeFloat(attack.getFloat("offset"));
+        out.writeFloat(attack.getFloat("thickness"));
+
+        writeAnimations(out, character.get("animations"));
+    }
+
+    private static void writeAnimations(DataOutputStream out, JsonValue animations) throws IOException {
+        require(animations, "animations");
+
+        // Frames of every slot that defines its own, then each slot's index into them
+        Array<JsonValue> defined = new Array<JsonValue>();
+        ObjectIntMap<String> indices = new ObjectIntMap<String>();
+
+        for (String slot : ANIMATION_SLOTS) {
+            JsonValue animation = animations.get(slot);
+            require(animation, "animations." + slot);
+
+            if (!animation.isString()) {
+                indices.put(slot, defined.size);
+                defined.add(animation);
+            }
+        }
+
+        out.writeByte(defined.size);
+        for (JsonValue animation : defined) {
+            int frames = animation.getInt("frames");
+            if (frames <= 0) throw new IllegalArgumentException(animation.name + " has no frames");
+
+            out.writeUTF(animation.getString("left"));
+            out.writeUTF(animation.getString("right"));
+            out.writeFloat(animation.getFloat("frameDuration"));
+            out.writeShort(frames);
+            out.writeBoolean(animation.getBoolean("looping"));
+        }
+
+        for (String slot : ANIMATION_SLOTS) {
+            JsonValue animation = animations.get(slot);
+            String source = animation.isString() ? animation.asString() : slot;
+
+            int index = indices.get(source, -1);
+            if (index < 0) {
+                throw new IllegalArgumentException("animation " + slot + " refers to " + source
+                        + ", which doesn't define frames");
+            }
+            out.writeByte(index);
+        }
+    }
+
+    private static void require(JsonValue value, String name) {
+        if (value == null) throw new IllegalArgumentException("missing " + name);
+    }
+}
@@ -0,0 +1,25 @@
+package com.fighter.desktop;
+
+import com.fighter.utils.debug.GcCounter;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * Sums the collection counts of all JVM garbage collectors.
+ */
+public class DesktopGcCounter implements GcCounter {
+
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+
+    @Override
+    public long getCollectionCount() {
+        long count = 0;
+        for (int i = 0; i < collectors.size(); ++i) {
+            long collectorCount = collectors.get(i).getCollectionCount();
+            if (collectorCount > 0) count += collectorCount;
+        }
+        return count;
+    }
+}
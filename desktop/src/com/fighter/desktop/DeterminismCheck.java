@@ -0,0 +1,103 @@
+package com.fighter.desktop;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.fighter.ai.AI;
+import com.fighter.ai.AiScheduler;
+import com.fighter.ai.MatchView;
+import com.fighter.entity.CharacterRegistry;
+import com.fighter.map.MapDef;
+import com.fighter.simulation.MatchSimulation;
+
+/**
+ * Plays a headless match from random player input and the AI, records the
+ * sampled input stream, then replays it into a fresh simulation and fails if
+ * the checksums of the two runs differ on any tick. Runs on the test map,
+ * then on a wide stage of many chunks.
+ *
+ * Usage: DeterminismCheck [ticks] [seed]
+ */
+public class DeterminismCheck {
+
+    private static final int DEFAULT_TICKS = 36000; // Ten minutes of play
+    private static final long DEFAULT_SEED = 1L;
+
+    private static final int BUTTON_MASK = (1 << 5) - 1; // Every InputFrame button
+    private static final int MAX_HOLD_TICKS = 20;
+
+    public static void main(String[] args) {
+        int ticks = (args.length > 0) ? Integer.parseInt(args[0]) : DEFAULT_TICKS;
+        long seed = (args.length > 1) ? Long.parseLong(args[1]) : DEFAULT_SEED;
+
+        int[] stream = new int[ticks * MatchSimulation.MAX_PLAYERS];
+        int[] checksums = new int[ticks];
+
+        CharacterRegistry characters = HeadlessAssets.loadCharacters();
+        MapDef[] maps = { HeadlessAssets.loadMap(), HeadlessAssets.wideMap() };
+        String[] mapNames = { "test map", "wide stage" };
+
+        for (int i = 0; i < maps.length; ++i) {
+            record(characters, maps[i], stream, checksums, seed);
+
+            int divergedAt = replay(characters, maps[i], stream, checksums);
+            if (divergedAt >= 0) {
+                characters.dispose();
+                System.out.println("FAILED: the replay on the " + mapNames[i] + " diverged at tick " + divergedAt);
+                System.exit(1);
+            }
+
+            System.out.println("Final checksum on the " + mapNames[i] + " after " + ticks + " ticks: "
+                    + Integer.toHexString(checksums[ticks - 1]));
+        }
+        characters.dispose();
+
+        System.out.println("OK");
+    }
+
+    private static void record(CharacterRegistry characters, MapDef map, int[] stream, int[] checksums, long seed) {
+        MatchSimulation simulation = new MatchSimulation(characters, map);
+        AI enemy = new AI(new MatchView(simulation), MatchSimulation.ENEMY_SLOT);
+
+        // No budget, so the AI decides the same on every run and the final
+        // checksum can be compared between runs
+        AiScheduler scheduler = new AiScheduler(0);
+        scheduler.add(enemy);
+        RandomXS128 random = new RandomXS128(seed);
+
+        int[] inputs = new int[MatchSimulation.MAX_PLAYERS];
+        int held = 0;
+
+        for (int tick = 0; tick < checksums.length; ++tick) {
+            // Hold each random mask for a while, like a person would
+            if (held-- <= 0) {
+                inputs[MatchSimulation.PLAYER_SLOT] = random.nextInt() & BUTTON_MASK;
+                held = random.nextInt(MAX_HOLD_TICKS);
+            }
+            scheduler.update();
+            inputs[MatchSimulation.ENEMY_SLOT] = enemy.sample();
+
+            System.arraycopy(inputs, 0, stream, tick * inputs.length, inputs.length);
+            simulation.tick(inputs);
+            checksums[tick] = simulation.checksum();
+        }
+
+        simulation.dispose();
+    }
+
+    // Returns the first tick whose checksum differs, or -1
+    private static int replay(CharacterRegistry characters, MapDef map, int[] stream, int[] checksums) {
+        MatchSimulation simulation = new MatchSimulation(characters, map);
+        int[] inputs = new int[MatchSimulation.MAX_PLAYERS];
+
+        try {
+            for (int tick = 0; tick < checksums.length; ++tick) {
+                System.arraycopy(stream, tick * inputs.length, inputs, 0, inputs.length);
+                simulation.tick(inputs);
+
+                if (simulation.checksum() != checksums[tick]) return tick;
+            }
+            return -1;
+        } finally {
+            simulation.dispose();
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.fighter.desktop;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.resolvers.AbsoluteFileHandleResolver;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.AtlasRegion;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData;
+import com.badlogic.gdx.graphics.glutils.ETC1;
+import com.badlogic.gdx.graphics.glutils.KTXTextureData;
+import com.badlogic.gdx.utils.Array;
+import com.fighter.assets.AssetPaths;
+import com.fighter.entity.CharacterArchetype;
+import com.fighter.entity.CharacterRegistry;
+
+import java.io.File;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Locale;
+
+/**
+ * Loads every ETC1 character atlas with the headless backend, the way the
+ * game's AssetManager does, and fails if one doesn't match its PNG atlas:
+ * same regions, pages twice as tall, and decoded colours and alpha within
+ * what ETC1 compression is expected to lose.
+ *
+ * Usage: Etc1AtlasCheck
+ */
+public class Etc1AtlasCheck {
+
+    // Mean absolute errors per channel out of 255. ETC1 is lossy on hard
+    // edged pixel art (the knight measures about 11), these catch broken
+    // encodes like swapped channels or a misplaced alpha half.
+    private static final double MAX_COLOR_ERROR = 16;
+    private static final double MAX_ALPHA_ERROR = 4;
+
+    public static void main(String[] args) {
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        config.renderInterval = -1;
+
+        new HeadlessApplication(new ApplicationAdapter() {
+            @Override
+            public void create() {
+                // The headless backend comes without GL, textures only need
+                // one that accepts their calls
+                Gdx.gl = Gdx.gl20 = nullGl();
+
+                boolean passed = false;
+                try {
+                    passed = check();
+                } catch (RuntimeException e) {
+                    e.printStackTrace();
+                }
+                System.exit(passed ? 0 : 1);
+            }
+        }, config);
+    }
+
+    private static boolean check() {
+        CharacterRegistry characters = HeadlessAssets.loadCharacters();
+        try {
+            for (CharacterArchetype archetype : characters.getArchetypes()) {
+                System.out.println(archetype.getName() + ":");
+                if (!check(archetype.getName())) return false;
+            }
+            return true;
+        } finally {
+            characters.dispose();
+        }
+    }
+
+    private static boolean check(String name) {
+        File assetsDir = HeadlessAssets.getAssetsDir().getAbsoluteFile();
+        AssetManager assetManager = new AssetManager(new AbsoluteFileHandleResolver());
+
+        try {
+            FileHandle pngFile = new FileHandle(new File(assetsDir, AssetPaths.characterAtlas(name)));
+            FileHandle etc1File = new FileHandle(new File(assetsDir, AssetPaths.characterEtc1Atlas(name)));
+
+            assetManager.load(pngFile.path(), TextureAtlas.class);
+            assetManager.load(etc1File.path(), TextureAtlas.class);
+            assetManager.finishLoading();
+
+            TextureAtlas png = assetManager.get(pngFile.path(), TextureAtlas.class);
+            TextureAtlas etc1 = assetManager.get(etc1File.path(), TextureAtlas.class);
+
+            return checkRegions(png, etc1) && checkPixels(pngFile, etc1File);
+        } finally {
+            assetManager.dispose();
+        }
+    }
+
+    private static boolean checkRegions(TextureAtlas png, TextureAtlas etc1) {
+        Array<AtlasRegion> expected = png.getRegions();
+        Array<AtlasRegion> actual = etc1.getRegions();
+
+        if (expected.size != actual.size) {
+            System.out.println("FAILED: " + actual.size + " regions, expected " + expected.size);
+            return false;
+        }
+
+        for (int i = 0; i < expected.size; ++i) {
+            AtlasRegion a = expected.get(i);
+            AtlasRegion b = actual.get(i);
+
+            boolean same = a.name.equals(b.name) && a.index == b.index
+                    && a.getRegionX() == b.getRegionX() && a.getRegionY() == b.getRegionY()
+                    && a.getRegionWidth() == b.getRegionWidth() && a.getRegionHeight() == b.getRegionHeight()
+                    && a.offsetX == b.offsetX && a.offsetY == b.offsetY;
+
+            if (!same || b.getTexture().getHeight() != a.getTexture().getHeight() * 2) {
+                System.out.println("FAILED: region " + b.name + " " + b.index + " doesn't match the PNG atlas");
+                return false;
+            }
+        }
+
+        System.out.println("  " + actual.size + " regions match");
+        return true;
+    }
+
+    private static boolean checkPixels(FileHandle pngAtlas, FileHandle etc1Atlas) {
+        Array<TextureAtlasData.Page> pngPages =
+                new TextureAtlasData(pngAtlas, pngAtlas.parent(), false).getPages();
+        Array<TextureAtlasData.Page> etc1Pages =
+                new TextureAtlasData(etc1Atlas, etc1Atlas.parent(), false).getPages();
+
+        for (int i = 0; i < pngPages.size; ++i) {
+            FileHandle etc1File = etc1Pages.get(i).textureFile;
+
+            Pixmap expected = new Pixmap(pngPages.get(i).textureFile);
+            Pixmap decoded = decode(etc1File);
+            try {
+                if (!compare(etc1File.name(), expected, decoded)) return false;
+            } finally {
+                expected.dispose();
+                decoded.dispose();
+            }
+        }
+        return true;
+    }
+
+    private static boolean compare(String name, Pixmap expected, Pixmap decoded) {
+        int width = expected.getWidth();
+        int height = expected.getHeight();
+
+        long colorError = 0;
+        long colorSamples = 0;
+        long alphaError = 0;
+
+        for (int y = 0; y < height; ++y) {
+            for (int x = 0; x < width; ++x) {
+                int rgba = expected.getPixel(x, y);
+                int alpha = rgba & 0xFF;
+
+                // Colours under transparent pixels never show
+                if (alpha > 0) {
+                    int rgb = decoded.getPixel(x, y);
+                    colorError += Math.abs((rgba >>> 24) - (rgb >>> 24))
+                            + Math.abs(((rgba >>> 16) & 0xFF) - ((rgb >>> 16) & 0xFF))
+                            + Math.abs(((rgba >>> 8) & 0xFF) - ((rgb >>> 8) & 0xFF));
+                    colorSamples += 3;
+                }
+
+                alphaError += Math.abs(alpha - ((decoded.getPixel(x, y + height) >>> 16) & 0xFF));
+            }
+        }
+
+        double meanColorError = colorSamples > 0 ? (double) colorError / colorSamples : 0;
+        double meanAlphaError = (double) alphaError / ((long) width * height);
+
+        System.out.println(String.format(Locale.ROOT, "  %s: mean colour error %.2f, mean alpha error %.2f",
+                name, meanColorError, meanAlphaError));
+
+        if (meanColorError > MAX_COLOR_ERROR || meanAlphaError > MAX_ALPHA_ERROR) {
+            System.out.println("FAILED: " + name + " lost more than ETC1 should");
+            return false;
+        }
+        return true;
+    }
+
+    // The mock GL of the headless backend drops uploads, so decode on the CPU
+    private static Pixmap decode(FileHandle file) {
+        KTXTextureData data = new KTXTextureData(file, false);
+        data.prepare();
+
+        ETC1.ETC1Data etc1 = new ETC1.ETC1Data(data.getWidth(), data.getHeight(), data.getData(0, 0), 0);
+        try {
+            return ETC1.decodeImage(etc1, Pixmap.Format.RGB888);
+        } finally {
+            data.disposePreparedData();
+        }
+    }
+
+    private static GL20 nullGl() {
+        return (GL20) Proxy.newProxyInstance(GL20.class.getClassLoader(), new Class<?>[] {GL20.class},
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        Class<?> type = method.getReturnType();
+                        if (type == boolean.class) return Boolean.FALSE;
+                        if (type == int.class) return 0;
+                        if (type == float.class) return 0f;
+                        return null;
+                    }
+                });
+    }
+}
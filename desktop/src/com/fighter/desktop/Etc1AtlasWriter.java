@@ -0,0 +1,173 @@
+package com.fighter.desktop;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData;
+import com.badlogic.gdx.graphics.glutils.ETC1;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes an ETC1 copy of a packed atlas: every page becomes a gzipped KTX
+ * file (.zktx, which libGDX loads directly) and the .atlas file is copied
+ * with the page names pointing at them.
+ * <p>
+ * ETC1 has no alpha, so a page is encoded twice as tall with its alpha
+ * stored as grey below the colours, for Etc1AlphaShader to put back
+ * together. The encoder is the one in the libGDX natives, so this runs
+ * wherever the desktop game does.
+ */
+class Etc1AtlasWriter {
+
+    // == Constants ==
+    private static final byte[] KTX_IDENTIFIER = {
+            (byte) 0xAB, 'K', 'T', 'X', ' ', '1', '1', (byte) 0xBB, '\r', '\n', 0x1A, '\n'
+    };
+    private static final int KTX_ENDIANNESS = 0x04030201;
+    private static final int KTX_HEADER_SIZE = 64;
+
+    private static final int GL_ETC1_RGB8_OES = 0x8D64;
+    private static final int GL_RGB = 0x1907;
+
+    private static final String PAGE_EXTENSION = ".zktx";
+
+    // == Constructors ==
+    private Etc1AtlasWriter() {
+    }
+
+    // == Package methods ==
+
+    /** Writes the ETC1 copy of {@code atlasFile} as {@code outputFile}, next to it. */
+    static void write(File atlasFile, File outputFile) throws IOException {
+        GdxNativesLoader.load();
+
+        File dir = atlasFile.getParentFile();
+        TextureAtlasData data = new TextureAtlasData(new FileHandle(atlasFile), new FileHandle(dir), false);
+
+        String prefix = outputFile.getName().substring(0, outputFile.getName().lastIndexOf('.'));
+        Map<String, String> pageNames = new HashMap<String, String>();
+
+        for (int i = 0; i < data.getPages().size; ++i) {
+            TextureAtlasData.Page page = data.getPages().get(i);
+            String pageName = (i == 0) ? prefix + PAGE_EXTENSION : prefix + (i + 1) + PAGE_EXTENSION;
+
+            writePage(page.textureFile.file(), new File(dir, pageName));
+            pageNames.put(page.textureFile.name(), pageName);
+        }
+
+        writeAtlas(atlasFile, outputFile, pageNames);
+    }
+
+    // == Private methods ==
+    private static void writePage(File pngFile, File ktxFile) throws IOException {
+        Pixmap page = new Pixmap(new FileHandle(pngFile));
+        int width = page.getWidth();
+        int height = page.getHeight();
+
+        Pixmap stacked = new Pixmap(width, height * 2, Pixmap.Format.RGB888);
+        try {
+            stacked.setBlending(Pixmap.Blending.None);
+            for (int y = 0; y < height; ++y) {
+                for (int x = 0; x < width; ++x) {
+                    int rgba = page.getPixel(x, y);
+                    int alpha = rgba & 0xFF;
+
+                    stacked.drawPixel(x, y, rgba | 0xFF);
+                    stacked.drawPixel(x, y + height, (alpha << 24) | (alpha << 16) | (alpha << 8) | 0xFF);
+                }
+            }
+
+            ETC1.ETC1Data etc1 = ETC1.encodeImage(stacked);
+            try {
+                writeKtx(ktxFile, stacked.getWidth(), stacked.getHeight(), etc1.compressedData);
+            } finally {
+                etc1.dispose();
+            }
+        } finally {
+            stacked.dispose();
+            page.dispose();
+        }
+    }
+
+    // A single-level, single-face KTX 1.1 file. The zktx wrapper is gzip
+    // with the uncompressed length up front, as KTXTextureData reads it.
+    private static void writeKtx(File file, int width, int height, ByteBuffer image) throws IOException {
+        int imageSize = image.remaining();
+
+        ByteBuffer header = ByteBuffer.allocate(KTX_HEADER_SIZE + 4).order(ByteOrder.LITTLE_ENDIAN);
+        header.put(KTX_IDENTIFIER);
+        header.putInt(KTX_ENDIANNESS);
+        header.putInt(0);                   // glType, 0 when compressed
+        header.putInt(1);                   // glTypeSize
+        header.putInt(0);                   // glFormat, 0 when compressed
+        header.putInt(GL_ETC1_RGB8_OES);    // glInternalFormat
+        header.putInt(GL_RGB);              // glBaseInternalFormat
+        header.putInt(width);
+        header.putInt(height);
+        header.putInt(0);                   // pixelDepth
+        header.putInt(0);                   // numberOfArrayElements
+        header.putInt(1);                   // numberOfFaces
+        header.putInt(1);                   // numberOfMipmapLevels
+        header.putInt(0);                   // bytesOfKeyValueData
+        header.putInt(imageSize);
+
+        byte[] pixels = new byte[imageSize];
+        image.duplicate().get(pixels);
+
+        ByteArrayOutputStream ktx = new ByteArrayOutputStream(header.capacity() + imageSize);
+        ktx.write(header.array());
+        ktx.write(pixels);
+
+        DataOutputStream out = new DataOutputStream(new GZIPOutputStream(new FileOutputStream(file)));
+        try {
+            out.writeInt(ktx.size());
+            ktx.writeTo(out);
+        } finally {
+            out.close();
+        }
+    }
+
+    // Copies the atlas, renaming the pages. The format line only tells the
+    // loader what to decode PNGs to, KTX pages carry their own.
+    private static void writeAtlas(File atlasFile, File outputFile, Map<String, String> pageNames)
+            throws IOException {
+        BufferedReader in = new BufferedReader(new InputStreamReader(new FileInputStream(atlasFile), "UTF-8"));
+        try {
+            OutputStream stream = new FileOutputStream(outputFile);
+            Writer out = new OutputStreamWriter(stream, "UTF-8");
+            try {
+                String line;
+                while ((line = in.readLine()) != null) {
+                    String pageName = pageNames.get(line.trim());
+                    if (pageName != null) {
+                        line = pageName;
+                    } else if (line.startsWith("format:")) {
+                        line = "format: " + Pixmap.Format.RGB888;
+                    }
+                    out.write(line);
+                    out.write('\n');
+                }
+            } finally {
+                out.close();
+            }
+        } finally {
+            in.close();
+        }
+    }
+}
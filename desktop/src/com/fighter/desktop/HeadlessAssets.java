@@ -0,0 +1,83 @@
+package com.fighter.desktop;
+
+import com.fighter.assets.AssetPaths;
+import com.fighter.entity.CharacterRegistry;
+import com.fighter.map.MapDef;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+/**
+ * Asset files for the headless tools, which run without Gdx.files. Paths are
+ * relative to the project root like AssetPacker's, unless the Gradle task
+ * points the fighter.assets system property somewhere else.
+ */
+class HeadlessAssets {
+
+    // == Constants ==
+    static final String ASSETS_DIR_PROPERTY = "fighter.assets";
+    private static final String DEFAULT_ASSETS_DIR = "android/assets";
+
+    private static final float WIDE_MAP_WIDTH = 40f;
+    private static final float WIDE_MAP_CHUNK_WIDTH = 2f;
+    private static final float WIDE_MAP_PLATFORM_SPACING = 2.5f;
+
+    // == Constructors ==
+    private HeadlessAssets() {
+    }
+
+    // == Package methods ==
+    static File getAssetsDir() {
+        return new File(System.getProperty(ASSETS_DIR_PROPERTY, DEFAULT_ASSETS_DIR));
+    }
+
+    static CharacterRegistry loadCharacters() {
+        File file = new File(getAssetsDir(), AssetPaths.CHARACTERS);
+
+        try {
+            return CharacterRegistry.read(new FileInputStream(file));
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Couldn't read " + file + ", run CharacterCompiler first", e);
+        }
+    }
+
+    static MapDef loadMap() {
+        File file = new File(getAssetsDir(), AssetPaths.TEST_MAP_DEF);
+
+        try {
+            return MapDef.read(new FileInputStream(file));
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Couldn't read " + file, e);
+        }
+    }
+
+    /**
+     * A walled stage many chunks wide, strewn with platforms that don't
+     * merge, so fighters walking across it keep turning chunks on and off.
+     */
+    static MapDef wideMap() {
+        StringBuilder json = new StringBuilder();
+        json.append("{ background: bg, chunkWidth: ").append(WIDE_MAP_CHUNK_WIDTH);
+        json.append(", solids: [ { x: 0, y: 0, width: ").append(WIDE_MAP_WIDTH).append(", height: 0.85 }");
+
+        // Too high to jump over
+        json.append(", { x: 0, y: 0, width: 0.5, height: 30 }");
+        json.append(", { x: ").append(WIDE_MAP_WIDTH - 0.5f).append(", y: 0, width: 0.5, height: 30 }");
+
+        int platforms = (int) (WIDE_MAP_WIDTH / WIDE_MAP_PLATFORM_SPACING);
+        for (int i = 0; i < platforms; ++i) {
+            json.append(", { x: ").append(i * WIDE_MAP_PLATFORM_SPACING)
+                    .append(", y: ").append(i % 2 == 0 ? 2f : 3.5f)
+                    .append(", width: 1.5, height: 0.3 }");
+        }
+        json.append(" ] }");
+
+        try {
+            return MapDef.parse(json.toString());
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Couldn't parse the wide map", e);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.fighter.desktop;
+
+import com.badlogic.gdx.utils.Array;
+import com.fighter.ai.AI;
+import com.fighter.ai.AiScheduler;
+import com.fighter.ai.MatchView;
+import com.fighter.ai.ParallelAiScheduler;
+import com.fighter.entity.CharacterRegistry;
+import com.fighter.map.MapDef;
+import com.fighter.simulation.MatchSimulation;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Plays a headless match where every fighter is an AI, first with the AIs
+ * thinking one after the other, then on worker pools of growing size, and
+ * fails if any pool gives a different checksum on any tick.
+ *
+ * Usage: ParallelAiCheck [fighters] [ticks]
+ */
+public class ParallelAiCheck {
+
+    private static final int DEFAULT_FIGHTERS = 32;
+    private static final int DEFAULT_TICKS = 3600; // A minute of play
+
+    public static void main(String[] args) {
+        int fighters = (args.length > 0) ? Integer.parseInt(args[0]) : DEFAULT_FIGHTERS;
+        int ticks = (args.length > 1) ? Integer.parseInt(args[1]) : DEFAULT_TICKS;
+
+        CharacterRegistry characters = HeadlessAssets.loadCharacters();
+        MapDef map = HeadlessAssets.loadMap();
+
+        int[] checksums = new int[ticks];
+        playSerial(characters, map, fighters, checksums);
+
+        // More threads than cores too, so the AIs interleave even on a
+        // small machine
+        int cores = Runtime.getRuntime().availableProcessors();
+        int[] threadCounts = { 1, 2, 4, Math.max(cores, 8) };
+
+        for (int threads : threadCounts) {
+            int divergedAt = playParallel(characters, map, fighters, threads, checksums);
+            if (divergedAt >= 0) {
+                characters.dispose();
+                System.out.println("FAILED: " + threads + " threads diverged at tick " + divergedAt);
+                System.exit(1);
+            }
+            System.out.println(threads + " threads: same as serial");
+        }
+        characters.dispose();
+
+        System.out.println("Final checksum after " + ticks + " ticks with " + fighters + " fighters: "
+                + Integer.toHexString(checksums[ticks - 1]));
+        System.out.println("OK");
+    }
+
+    private static void playSerial(CharacterRegistry characters, MapDef map, int fighters, int[] checksums) {
+        MatchSimulation simulation = new MatchSimulation(characters, map, fighters);
+        AiScheduler scheduler = new AiScheduler(0);
+
+        MatchView view = new MatchView(simulation);
+        for (int slot = 0; slot < fighters; ++slot) {
+            scheduler.add(new AI(view, slot));
+        }
+
+        int[] inputs = new int[fighters];
+        for (int tick = 0; tick < checksums.length; ++tick) {
+            scheduler.update();
+            sample(scheduler.getControllers(), inputs);
+            simulation.tick(inputs);
+            checksums[tick] = simulation.checksum();
+        }
+
+        simulation.dispose();
+    }
+
+    // Returns the first tick whose checksum differs, or -1
+    private static int playParallel(CharacterRegistry characters, MapDef map, int fighters, int threads,
+                                    int[] checksums) {
+        MatchSimulation simulation = new MatchSimulation(characters, map, fighters);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        ParallelAiScheduler scheduler = new ParallelAiScheduler(pool);
+
+        MatchView view = new MatchView(simulation);
+        for (int slot = 0; slot < fighters; ++slot) {
+            scheduler.add(new AI(view, slot));
+        }
+
+        int[] inputs = new int[fighters];
+        try {
+            for (int tick = 0; tick < checksums.length; ++tick) {
+                scheduler.update();
+                sample(scheduler.getControllers(), inputs);
+                simulation.tick(inputs);
+
+                if (simulation.checksum() != checksums[tick]) return tick;
+            }
+            return -1;
+        } finally {
+            pool.shutdown();
+            simulation.dispose();
+        }
+    }
+
+    private static void sample(Array<AI> controllers, int[] inputs) {
+        for (int slot = 0; slot < inputs.length; ++slot) {
+            inputs[slot] = controllers.get(slot).sample();
+        }
+    }
+}
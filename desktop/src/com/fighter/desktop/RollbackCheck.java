@@ -0,0 +1,171 @@
+package com.fighter.desktop;
+
+import com.badlogic.gdx.utils.TimeUtils;
+import com.fighter.entity.CharacterRegistry;
+import com.fighter.input.InputFrame;
+import com.fighter.map.MapDef;
+import com.fighter.netplay.LoopbackTransport;
+import com.fighter.netplay.RollbackSession;
+import com.fighter.simulation.MatchSimulation;
+
+/**
+ * Plays an online match between two rollback sessions over a loopback
+ * transport with simulated latency. Every tick both peers confirm is
+ * compared against a plain simulation fed the true inputs, and the check
+ * fails on the first checksum that differs.
+ * <p>
+ * The match is played on the test map, then again on a wide stage of many
+ * chunks with the fighters walking across it, so rollbacks also go back
+ * over chunks turning on and off.
+ *
+ * Usage: RollbackCheck [frames] [latencyFrames] [jitterFrames] [seed]
+ */
+public class RollbackCheck {
+
+    private static final int DEFAULT_FRAMES = 20000;
+    private static final int DEFAULT_LATENCY = 4;
+    private static final int DEFAULT_JITTER = 3;
+    private static final long DEFAULT_SEED = 1L;
+
+    private static final int BUTTON_MASK = (1 << 5) - 1; // Every InputFrame button
+    private static final int HOLD_TICKS = 10;
+
+    // On the wide stage, ticks spent walking one way before turning around
+    private static final int WALK_TICKS = 600;
+
+    private static final int WARMUP_FRAMES = 2000; // Not timed, the JIT is still busy
+
+    public static void main(String[] args) {
+        int frames = (args.length > 0) ? Integer.parseInt(args[0]) : DEFAULT_FRAMES;
+        int latency = (args.length > 1) ? Integer.parseInt(args[1]) : DEFAULT_LATENCY;
+        int jitter = (args.length > 2) ? Integer.parseInt(args[2]) : DEFAULT_JITTER;
+        long seed = (args.length > 3) ? Long.parseLong(args[3]) : DEFAULT_SEED;
+
+        CharacterRegistry characters = HeadlessAssets.loadCharacters();
+
+        System.out.println("Test map:");
+        play(characters, HeadlessAssets.loadMap(), false, frames, latency, jitter, seed);
+
+        System.out.println("Wide stage:");
+        int chunkRestores = play(characters, HeadlessAssets.wideMap(), true, frames, latency, jitter, seed);
+
+        characters.dispose();
+
+        if (chunkRestores == 0) {
+            System.out.println("FAILED: no rollback went back over a chunk change");
+            System.exit(1);
+        }
+        System.out.println("OK");
+    }
+
+    // Exits on the first divergence, returns how many restores changed the active chunks
+    private static int play(CharacterRegistry characters, MapDef map, boolean walk,
+                            int frames, int latency, int jitter, long seed) {
+        LoopbackTransport[] transports = {
+                new LoopbackTransport(latency, jitter, seed),
+                new LoopbackTransport(latency, jitter, seed + 1)
+        };
+        LoopbackTransport.connect(transports[0], transports[1]);
+
+        RollbackSession[] sessions = new RollbackSession[MatchSimulation.MAX_PLAYERS];
+        for (int slot = 0; slot < sessions.length; ++slot) {
+            sessions[slot] = new RollbackSession(new MatchSimulation(characters, map), transports[slot], slot);
+        }
+
+        MatchSimulation reference = new MatchSimulation(characters, map);
+        int[] inputs = new int[MatchSimulation.MAX_PLAYERS];
+
+        int stalls = 0;
+        long timedFrames = 0;
+        long totalNanos = 0;
+        long rollbackFrames = 0;
+        long rollbackNanos = 0;
+        long worstNanos = 0;
+
+        for (int frame = 0; frame < frames; ++frame) {
+            for (LoopbackTransport transport : transports) {
+                transport.update();
+            }
+
+            for (int slot = 0; slot < sessions.length; ++slot) {
+                RollbackSession session = sessions[slot];
+
+                long start = TimeUtils.nanoTime();
+                if (!session.advance(script(seed, slot, session.getTick(), walk))) ++stalls;
+                long nanos = TimeUtils.nanoTime() - start;
+
+                if (frame >= WARMUP_FRAMES) {
+                    ++timedFrames;
+                    totalNanos += nanos;
+                    worstNanos = Math.max(worstNanos, nanos);
+
+                    if (session.getRollbackTicks() > 0) {
+                        ++rollbackFrames;
+                        rollbackNanos += nanos;
+                    }
+                }
+            }
+
+            // Everything both peers confirmed must match the reference exactly
+            long confirmed = Math.min(sessions[0].getConfirmedTick(), sessions[1].getConfirmedTick());
+            while (reference.getTick() <= confirmed) {
+                long tick = reference.getTick();
+                for (int slot = 0; slot < inputs.length; ++slot) {
+                    inputs[slot] = script(seed, slot, tick, walk);
+                }
+                reference.tick(inputs);
+
+                for (int slot = 0; slot < sessions.length; ++slot) {
+                    if (sessions[slot].getChecksum(tick) != reference.checksum()) {
+                        System.out.println("FAILED: peer " + slot + " diverged at tick " + tick);
+                        System.exit(1);
+                    }
+                }
+            }
+        }
+
+        int chunkRestores = 0;
+        for (int slot = 0; slot < sessions.length; ++slot) {
+            RollbackSession session = sessions[slot];
+            System.out.println("Peer " + slot + ": " + session.getTick() + " ticks, "
+                    + session.getRollbacks() + " rollbacks, longest "
+                    + session.getMaxRollbackTicks() + " ticks, "
+                    + session.getSimulation().getChunkRestores() + " over a chunk change");
+            chunkRestores += session.getSimulation().getChunkRestores();
+            session.getSimulation().dispose();
+        }
+        System.out.println("Confirmed ticks checked: " + reference.getTick());
+        System.out.println("Stalled frames: " + stalls);
+        if (timedFrames > 0) {
+            System.out.println("Average frame: " + totalNanos / timedFrames / 1000 + " us");
+            System.out.println("Slowest frame: " + worstNanos / 1000 + " us");
+        }
+        if (rollbackFrames > 0) {
+            System.out.println("Average frame with a rollback: " + rollbackNanos / rollbackFrames / 1000 + " us");
+        }
+
+        reference.dispose();
+
+        if (sessions[0].getRollbacks() == 0 && sessions[1].getRollbacks() == 0) {
+            System.out.println("FAILED: no rollback happened, raise the latency");
+            System.exit(1);
+        }
+        return chunkRestores;
+    }
+
+    // Pseudo random buttons held for a few ticks, the same for every caller.
+    // Walking fighters hold one direction for long stretches instead
+    private static int script(long seed, int slot, long tick, boolean walk) {
+        long hash = seed * 31 + slot;
+        hash = hash * 0x9E3779B97F4A7C15L + tick / HOLD_TICKS;
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        int buttons = (int) hash & BUTTON_MASK;
+
+        if (!walk) return buttons;
+
+        buttons &= ~(InputFrame.LEFT | InputFrame.RIGHT);
+        return buttons | (((tick / WALK_TICKS) % 2 == 0) ? InputFrame.RIGHT : InputFrame.LEFT);
+    }
+}